@@ -0,0 +1,40 @@
+package com.qa.automation.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PROJECTS_CACHE = "projects";
+    public static final String TESTERS_CACHE = "testers";
+
+    @Value("${reference-cache.max-size:1000}")
+    private long maxSize;
+
+    @Value("${reference-cache.expire-after-write-minutes:30}")
+    private long expireAfterWriteMinutes;
+
+    /**
+     * In-process cache for small, rarely changing reference tables. Entries are evicted by the owning
+     * services on every write; the TTL only bounds staleness from writes made outside this instance.
+     * Stats are recorded so hit/miss counts show up under the actuator cache metrics.
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(PROJECTS_CACHE, TESTERS_CACHE);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWriteMinutes, TimeUnit.MINUTES)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+}
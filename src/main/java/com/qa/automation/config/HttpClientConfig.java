@@ -0,0 +1,128 @@
+package com.qa.automation.config;
+
+import io.micrometer.common.KeyValue;
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.client.RestTemplate;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Shared outbound HTTP layer for the Jenkins, Jira and qTest integrations: pooled keep-alive
+ * connections, gzip, per-host connection limits, timeouts and Micrometer timing (http.client.requests).
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Value("${http.client.max-connections:100}")
+    private int maxConnections;
+
+    @Value("${http.client.max-connections-per-host:20}")
+    private int maxConnectionsPerHost;
+
+    @Value("${http.client.connect-timeout-ms:5000}")
+    private int connectTimeoutMs;
+
+    @Value("${http.client.read-timeout-ms:60000}")
+    private int readTimeoutMs;
+
+    @Value("${http.client.pool-acquire-timeout-ms:30000}")
+    private int poolAcquireTimeoutMs;
+
+    @Value("${http.client.keep-alive-seconds:60}")
+    private long keepAliveSeconds;
+
+    /**
+     * Pooled Apache HttpClient backing the Jenkins RestTemplate (gzip is negotiated by default)
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient pooledHttpClient() {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerHost)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                .build();
+
+        TimeValue maxKeepAlive = TimeValue.ofSeconds(keepAliveSeconds);
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                // Honour the server's Keep-Alive header but never hold an idle connection longer than configured
+                .setKeepAliveStrategy((response, context) -> {
+                    TimeValue serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return serverKeepAlive.compareTo(maxKeepAlive) < 0 ? serverKeepAlive : maxKeepAlive;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(maxKeepAlive)
+                .build();
+    }
+
+    /**
+     * RestTemplate shared by all Jenkins calls. Built from the Boot builder so requests are timed by Micrometer;
+     * Jenkins URLs embed job names and build numbers, so its timings are tagged by host only to keep metric
+     * cardinality bounded. The Jira and qTest WebClients keep their templated uri tags.
+     */
+    @Bean
+    public RestTemplate jenkinsRestTemplate(RestTemplateBuilder restTemplateBuilder, CloseableHttpClient pooledHttpClient) {
+        RestTemplate restTemplate = restTemplateBuilder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(pooledHttpClient))
+                .build();
+        restTemplate.setObservationConvention(new DefaultClientRequestObservationConvention() {
+            @Override
+            protected KeyValue uri(ClientRequestObservationContext context) {
+                return KeyValue.of("uri", "none");
+            }
+        });
+        return restTemplate;
+    }
+
+    /**
+     * Connection pool shared by the Jira and qTest WebClients. Reactor Netty keeps one pool per remote host,
+     * so the connection limit applies per host.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider outboundConnectionProvider() {
+        return ConnectionProvider.builder("outbound")
+                .maxConnections(maxConnectionsPerHost)
+                .pendingAcquireTimeout(Duration.ofMillis(poolAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofSeconds(keepAliveSeconds))
+                .maxLifeTime(Duration.ofMinutes(10))
+                .evictInBackground(Duration.ofSeconds(30))
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ReactorClientHttpConnector outboundHttpConnector(ConnectionProvider outboundConnectionProvider) {
+        HttpClient httpClient = HttpClient.create(outboundConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(readTimeoutMs))
+                .keepAlive(true)
+                .compress(true);
+        return new ReactorClientHttpConnector(httpClient);
+    }
+}
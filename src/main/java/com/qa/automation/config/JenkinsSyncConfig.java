@@ -0,0 +1,28 @@
+package com.qa.automation.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class JenkinsSyncConfig {
+
+    @Value("${jenkins.sync.workers:4}")
+    private int syncWorkers;
+
+    /**
+     * Worker pool used to fan Jenkins job syncs out in parallel
+     */
+    @Bean
+    public ThreadPoolTaskExecutor jenkinsSyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        int workers = Math.max(1, syncWorkers);
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setThreadNamePrefix("jenkins-sync-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,10 +1,12 @@
 package com.qa.automation.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import java.util.Base64;
 
@@ -42,6 +44,13 @@ public class JiraConfig {
     @Value("${qtest.project.id:}")
     private String qtestProjectId;
 
+    // Boot-configured builder (Micrometer timing) and the shared pooled connector from HttpClientConfig
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    @Autowired
+    private ReactorClientHttpConnector outboundHttpConnector;
+
     @Bean
     public WebClient jiraWebClient() {
         // Increase memory limit for large Jira responses
@@ -51,7 +60,8 @@ public class JiraConfig {
                         .maxInMemorySize(16 * 1024 * 1024)) // 16MB
                 .build();
 
-        return WebClient.builder()
+        return webClientBuilder.clone()
+                .clientConnector(outboundHttpConnector)
                 .baseUrl(jiraUrl)
                 .defaultHeader(HttpHeaders.AUTHORIZATION, getJiraBasicAuthHeader())
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, "application/json")
@@ -72,7 +82,8 @@ public class JiraConfig {
         // Create base WebClient without authentication headers (will be added per request)
         String baseUrl = (qtestUrl != null && !qtestUrl.isEmpty()) ? qtestUrl : "http://localhost";
         
-        return WebClient.builder()
+        return webClientBuilder.clone()
+                .clientConnector(outboundHttpConnector)
                 .baseUrl(baseUrl)
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, "application/json")
                 .defaultHeader(HttpHeaders.ACCEPT, "application/json")
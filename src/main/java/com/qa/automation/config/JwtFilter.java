@@ -1,15 +1,22 @@
 package com.qa.automation.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.qa.automation.service.JWTService;
 import com.qa.automation.service.UserDetailsService;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -26,21 +33,49 @@ public class JwtFilter extends OncePerRequestFilter {
     @Autowired
     private JWTService jwtService;
 
+    @Value("${jwt.principal-cache.max-size:10000}")
+    private long principalCacheMaxSize;
+
+    @Value("${jwt.principal-cache.ttl-seconds:300}")
+    private long principalCacheTtlSeconds;
+
+    // Verified token -> principal; an entry lives until the configured TTL or the token's own expiry, whichever is first
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    void initPrincipalCache() {
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(principalCacheMaxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String token, VerifiedToken verified, long currentTime) {
+                        long untilExpiry = TimeUnit.MILLISECONDS.toNanos(verified.expiresAtMillis - System.currentTimeMillis());
+                        return Math.max(0L, Math.min(TimeUnit.SECONDS.toNanos(principalCacheTtlSeconds), untilExpiry));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+                        return expireAfterCreate(token, verified, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, VerifiedToken verified, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         try {
             String authHeader = request.getHeader("Authorization");
-            String token = null;
-            String username = null;
 
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                token = authHeader.substring(7);
-                username = jwtService.extractUserName(token);
-            }
+                String token = authHeader.substring(7);
+                UserDetails userDetails = authenticate(token);
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = context.getBean(UserDetailsService.class).loadUserByUsername(username);
-                if (jwtService.validateToken(token, userDetails)) {
+                if (userDetails != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                     authToken.setDetails(new WebAuthenticationDetailsSource()
                             .buildDetails(request));
@@ -64,9 +99,54 @@ public class JwtFilter extends OncePerRequestFilter {
         }
     }
 
+    /**
+     * Principal for a token: a cache hit skips both signature verification and the user lookup; a miss
+     * parses the token once, loads the user and caches the result. Returns null when the token's subject
+     * does not match the user.
+     */
+    private UserDetails authenticate(String token) {
+        VerifiedToken cached = verifiedTokens.getIfPresent(token);
+        if (cached != null && cached.expiresAtMillis > System.currentTimeMillis()) {
+            return cached.userDetails;
+        }
+
+        Claims claims = jwtService.parseToken(token);
+        String username = claims.getSubject();
+        if (username == null) {
+            return null;
+        }
+        UserDetails userDetails = context.getBean(UserDetailsService.class).loadUserByUsername(username);
+        if (!jwtService.validateClaims(claims, userDetails)) {
+            return null;
+        }
+        // Tokens without exp never expire on their own, so only the configured TTL bounds the entry
+        long expiresAtMillis = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+        verifiedTokens.put(token, new VerifiedToken(userDetails, expiresAtMillis));
+        return userDetails;
+    }
+
+    /**
+     * Drop every cached principal of the user, so role changes apply from the next request on
+     */
+    public void evictUser(String username) {
+        if (username != null) {
+            verifiedTokens.asMap().values().removeIf(verified -> username.equals(verified.userDetails.getUsername()));
+        }
+    }
+
     private void handleException(HttpServletResponse response, String message, int status) throws IOException {
         response.setStatus(status);
         response.setContentType("application/json");
         response.getWriter().write("{\"error\": \"" + message + "\"}");
     }
+
+    private static final class VerifiedToken {
+        private final UserDetails userDetails;
+        private final long expiresAtMillis;
+
+        private VerifiedToken(UserDetails userDetails, long expiresAtMillis) {
+            this.userDetails = userDetails;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
 }
@@ -0,0 +1,13 @@
+package com.qa.automation.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on @Scheduled methods (the background sync scheduler). Ticks only queue work on the sync job
+ * executor, so Boot's default single-threaded task scheduler is enough.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
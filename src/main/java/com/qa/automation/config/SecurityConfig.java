@@ -3,9 +3,11 @@ package com.qa.automation.config;
 import com.qa.automation.model.User;
 import com.qa.automation.repository.UserRepository;
 import com.qa.automation.service.UserService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -37,6 +39,12 @@ public class SecurityConfig {
         return http.csrf(customizer -> customizer.disable()).
                 authorizeHttpRequests(request -> request
                         .requestMatchers("/api/user").permitAll()
+                        // Jenkins build hooks; JenkinsIngestController checks the X-Ingest-Token header itself
+                        .requestMatchers("/api/jenkins/ingest", "/api/jenkins/ingest/**").permitAll()
+                        // Scheduler controls (pause, triggers) are admin-only; its status stays readable
+                        .requestMatchers(HttpMethod.POST, "/actuator/syncscheduler/**").hasRole("ADMIN")
+                        // Streamed responses finish on an async dispatch; the original request was already authorized
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .anyRequest().authenticated()).
                 httpBasic(Customizer.withDefaults()).
                 sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -0,0 +1,38 @@
+package com.qa.automation.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector that counts the SQL statements prepared on the current thread
+ * between start() and stop(). Registered through hibernate.session_factory.statement_inspector
+ * so sync runs can report how many statements they issued.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNTER = new ThreadLocal<>();
+
+    /**
+     * Start counting statements on the current thread
+     */
+    public static void start() {
+        COUNTER.set(new long[1]);
+    }
+
+    /**
+     * Stop counting on the current thread and return the number of statements seen since start()
+     */
+    public static long stop() {
+        long[] counter = COUNTER.get();
+        COUNTER.remove();
+        return counter != null ? counter[0] : 0;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        long[] counter = COUNTER.get();
+        if (counter != null) {
+            counter[0]++;
+        }
+        return sql;
+    }
+}
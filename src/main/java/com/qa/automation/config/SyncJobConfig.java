@@ -0,0 +1,49 @@
+package com.qa.automation.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class SyncJobConfig {
+
+    @Value("${sync.jobs.workers:2}")
+    private int syncJobWorkers;
+
+    @Value("${sync.jobs.queue-capacity:50}")
+    private int syncJobQueueCapacity;
+
+    @Value("${sync.ingest.workers:2}")
+    private int ingestJobWorkers;
+
+    @Value("${sync.ingest.queue-capacity:20}")
+    private int ingestJobQueueCapacity;
+
+    /**
+     * Executor that runs background sync jobs off the servlet threads
+     */
+    @Bean
+    public ThreadPoolTaskExecutor syncJobExecutor() {
+        return createExecutor(syncJobWorkers, syncJobQueueCapacity, "sync-job-");
+    }
+
+    /**
+     * Executor for pushed Jenkins reports, kept apart so long full or sprint syncs never delay or reject them
+     */
+    @Bean
+    public ThreadPoolTaskExecutor ingestJobExecutor() {
+        return createExecutor(ingestJobWorkers, ingestJobQueueCapacity, "ingest-job-");
+    }
+
+    private ThreadPoolTaskExecutor createExecutor(int workerCount, int queueCapacity, String threadNamePrefix) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        int workers = Math.max(1, workerCount);
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(Math.max(1, queueCapacity));
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,5 +1,6 @@
 package com.qa.automation.controller;
 
+import com.qa.automation.dto.DashboardOverview;
 import com.qa.automation.service.DashboardService;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +24,14 @@ public class DashboardController {
         return ResponseEntity.ok(stats);
     }
 
+    /**
+     * Status breakdown of all domains and projects in one response
+     */
+    @GetMapping("/overview")
+    public ResponseEntity<DashboardOverview> getDashboardOverview() {
+        return ResponseEntity.ok(dashboardService.getDashboardOverview());
+    }
+
     @GetMapping("/stats/domain/{domainId}")
     public ResponseEntity<Map<String, Object>> getDomainStats(@PathVariable Long domainId) {
         Map<String, Object> stats = dashboardService.getDomainStats(domainId);
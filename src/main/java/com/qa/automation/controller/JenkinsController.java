@@ -1,9 +1,12 @@
 package com.qa.automation.controller;
 
+import com.qa.automation.dto.JenkinsResultPage;
+import com.qa.automation.dto.JenkinsTestCaseSummary;
+import com.qa.automation.dto.KeysetPage;
 import com.qa.automation.model.CombinedSaveRequest;
 import com.qa.automation.model.JenkinsResult;
-import com.qa.automation.model.JenkinsTestCase;
 import com.qa.automation.model.Project;
+import com.qa.automation.model.SyncJob;
 import com.qa.automation.model.Tester;
 import com.qa.automation.model.TesterAssignmentRequest;
 import com.qa.automation.repository.JenkinsResultRepository;
@@ -11,12 +14,15 @@ import com.qa.automation.repository.ProjectRepository;
 import com.qa.automation.repository.TesterRepository;
 import com.qa.automation.service.JenkinsService;
 import com.qa.automation.service.JenkinsTestNGService;
+import com.qa.automation.service.NdjsonExportService;
+import com.qa.automation.service.ProjectService;
+import com.qa.automation.service.SyncJobService;
+import com.qa.automation.service.TesterService;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -29,6 +35,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/jenkins")
@@ -43,11 +50,20 @@ public class JenkinsController {
     @Autowired
     private JenkinsResultRepository jenkinsResultRepository;
 
+    @Autowired
+    private ProjectRepository projectRepository;
+
     @Autowired
     private TesterRepository testerRepository;
 
     @Autowired
-    private ProjectRepository projectRepository;
+    private TesterService testerService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private SyncJobService syncJobService;
 
     @GetMapping("/test-connection")
     public ResponseEntity<Map<String, Object>> testJenkinsConnection() {
@@ -81,48 +97,32 @@ public class JenkinsController {
         }
     }
 
+    /**
+     * Latest result per job, filtered and sorted in the database. Pass size to page through the results;
+     * the cursor for the next page comes back in the X-Next-Cursor header.
+     */
     @GetMapping("/results/filtered")
     public ResponseEntity<List<JenkinsResult>> getFilteredResults(
             @RequestParam(required = false) Long projectId,
             @RequestParam(required = false) Long automationTesterId,
             @RequestParam(required = false) String jobFrequency,
-            @RequestParam(required = false) String buildStatus) {
+            @RequestParam(required = false) String buildStatus,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<JenkinsResult> results = jenkinsService.getAllLatestResults();
-
-            // Apply filters
-            List<JenkinsResult> filteredResults = results.stream()
-                    .filter(result -> {
-                        // Project filter
-                        if (projectId != null && (result.getProject() == null || !result.getProject().getId().equals(projectId))) {
-                            return false;
-                        }
-                        // Automation tester filter
-                        if (automationTesterId != null && (result.getAutomationTester() == null || !result.getAutomationTester().getId().equals(automationTesterId))) {
-                            return false;
-                        }
-                        // Job frequency filter
-                        if (jobFrequency != null && !jobFrequency.isEmpty() && !jobFrequency.equalsIgnoreCase(result.getJobFrequency())) {
-                            return false;
-                        }
-                        // Build status filter
-                        if (buildStatus != null && !buildStatus.isEmpty() && !buildStatus.equalsIgnoreCase(result.getBuildStatus())) {
-                            return false;
-                        }
-                        return true;
-                    })
-                    .collect(Collectors.toList());
+            JenkinsResultPage page = jenkinsService.getFilteredLatestResults(projectId, automationTesterId,
+                    jobFrequency, buildStatus, sortBy, direction, cursor, size);
 
-            // Calculate and set pass percentage for each result
-            for (JenkinsResult result : filteredResults) {
-                calculateAndSetPassPercentage(result);
-                // Ensure job frequency is set
-                if (result.getJobFrequency() == null || result.getJobFrequency().isEmpty()) {
-                    result.inferJobFrequency();
-                }
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(KeysetPage.NEXT_CURSOR_HEADER, page.getNextCursor());
             }
-
-            return ResponseEntity.ok(filteredResults);
+            return response.body(page.getResults());
+        }
+        catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
         catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -133,18 +133,8 @@ public class JenkinsController {
     @GetMapping("/frequencies")
     public ResponseEntity<List<String>> getJobFrequencies() {
         try {
-            List<String> frequencies = jenkinsResultRepository.findAll().stream()
-                    .map(result -> {
-                        if (result.getJobFrequency() == null || result.getJobFrequency().isEmpty()) {
-                            result.inferJobFrequency();
-                            return result.getJobFrequency();
-                        }
-                        return result.getJobFrequency();
-                    })
-                    .distinct()
-                    .sorted()
-                    .collect(Collectors.toList());
-
+            // Job frequency is persisted at sync time, so the distinct values come straight from the table
+            List<String> frequencies = jenkinsResultRepository.findDistinctJobFrequencies();
             return ResponseEntity.ok(frequencies);
         }
         catch (Exception e) {
@@ -156,13 +146,7 @@ public class JenkinsController {
     @GetMapping("/projects")
     public ResponseEntity<List<Project>> getProjectsWithJenkinsResults() {
         try {
-            List<Project> projects = jenkinsResultRepository.findAll().stream()
-                    .filter(result -> result.getProject() != null)
-                    .map(JenkinsResult::getProject)
-                    .distinct()
-                    .sorted((p1, p2) -> p1.getName().compareToIgnoreCase(p2.getName()))
-                    .collect(Collectors.toList());
-
+            List<Project> projects = projectRepository.findProjectsWithJenkinsResults();
             return ResponseEntity.ok(projects);
         }
         catch (Exception e) {
@@ -174,13 +158,7 @@ public class JenkinsController {
     @GetMapping("/automation-testers")
     public ResponseEntity<List<Tester>> getAutomationTestersWithJenkinsResults() {
         try {
-            List<Tester> testers = jenkinsResultRepository.findAll().stream()
-                    .filter(result -> result.getAutomationTester() != null)
-                    .map(JenkinsResult::getAutomationTester)
-                    .distinct()
-                    .sorted((t1, t2) -> t1.getName().compareToIgnoreCase(t2.getName()))
-                    .collect(Collectors.toList());
-
+            List<Tester> testers = testerRepository.findAutomationTestersWithJenkinsResults();
             return ResponseEntity.ok(testers);
         }
         catch (Exception e) {
@@ -203,10 +181,24 @@ public class JenkinsController {
         }
     }
 
+    /**
+     * Test cases of a result, or with size a keyset page after cursor; the next cursor comes back in X-Next-Cursor
+     */
     @GetMapping("/results/{resultId}/testcases")
-    public ResponseEntity<List<JenkinsTestCase>> getTestCasesByResultId(@PathVariable Long resultId) {
+    public ResponseEntity<List<JenkinsTestCaseSummary>> getTestCasesByResultId(
+            @PathVariable Long resultId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<JenkinsTestCase> testCases = jenkinsService.getTestCasesByResultId(resultId);
+            if (size != null) {
+                KeysetPage<JenkinsTestCaseSummary> page = jenkinsService.getTestCasesPageByResultId(resultId, cursor, size);
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                if (page.getNextCursor() != null) {
+                    response.header(KeysetPage.NEXT_CURSOR_HEADER, String.valueOf(page.getNextCursor()));
+                }
+                return response.body(page.getItems());
+            }
+            List<JenkinsTestCaseSummary> testCases = jenkinsService.getTestCasesByResultId(resultId);
             return ResponseEntity.ok(testCases);
         }
         catch (Exception e) {
@@ -214,6 +206,15 @@ public class JenkinsController {
         }
     }
 
+    /**
+     * Test cases of a result as newline-delimited JSON, streamed from the database
+     */
+    @GetMapping(value = "/results/{resultId}/testcases", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> exportTestCasesByResultId(@PathVariable Long resultId) {
+        StreamingResponseBody body = out -> jenkinsService.exportTestCasesByResultId(resultId, out);
+        return ResponseEntity.ok().contentType(NdjsonExportService.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/statistics")
     public ResponseEntity<Map<String, Object>> getJenkinsStatistics() {
         try {
@@ -226,20 +227,37 @@ public class JenkinsController {
     }
 
     @PostMapping("/sync")
-    public ResponseEntity<Map<String, String>> syncAllJobs() {
+    public ResponseEntity<Map<String, Object>> syncAllJobs() {
         try {
-            jenkinsService.syncAllJobsFromJenkins();
-            Map<String, String> response = new HashMap<>();
-            response.put("message", "Jenkins jobs synced successfully");
-            return ResponseEntity.ok(response);
+            SyncJob syncJob = syncJobService.submit(SyncJobService.TYPE_JENKINS_SYNC, "all",
+                    job -> jenkinsService.syncAllJobsFromJenkins(job));
+            Map<String, Object> response = syncJob.toStatusMap();
+            response.put("statusUrl", "/api/jenkins/sync/jobs/" + syncJob.getId());
+            if (syncJob.isRejected()) {
+                response.put("message", "Sync queue is full, try again later");
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+            }
+            response.put("message", "Jenkins sync started");
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
         }
         catch (Exception e) {
-            Map<String, String> response = new HashMap<>();
+            Map<String, Object> response = new HashMap<>();
             response.put("error", "Failed to sync Jenkins jobs: " + e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
 
+    @GetMapping("/sync/jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> getSyncJobStatus(@PathVariable String jobId) {
+        Optional<SyncJob> syncJob = syncJobService.getJob(jobId);
+        if (syncJob.isEmpty()) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "Sync job not found: " + jobId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        return ResponseEntity.ok(syncJob.get().toStatusMap());
+    }
+
     @PostMapping("/sync/{jobName}")
     public ResponseEntity<Map<String, String>> syncJobResult(@PathVariable String jobName) {
         try {
@@ -380,7 +398,7 @@ public class JenkinsController {
 
             // Assign automation tester
             if (request.getAutomationTesterId() != null) {
-                Optional<Tester> automationTester = testerRepository.findById(request.getAutomationTesterId());
+                Optional<Tester> automationTester = Optional.ofNullable(testerService.getTesterById(request.getAutomationTesterId()));
                 if (automationTester.isPresent()) {
                     result.setAutomationTester(automationTester.get());
                     System.out.println("Assigned automation tester: " + automationTester.get().getName());
@@ -389,7 +407,7 @@ public class JenkinsController {
 
             // Assign manual tester
             if (request.getManualTesterId() != null) {
-                Optional<Tester> manualTester = testerRepository.findById(request.getManualTesterId());
+                Optional<Tester> manualTester = Optional.ofNullable(testerService.getTesterById(request.getManualTesterId()));
                 if (manualTester.isPresent()) {
                     result.setManualTester(manualTester.get());
                     System.out.println("Assigned manual tester: " + manualTester.get().getName());
@@ -452,7 +470,7 @@ public class JenkinsController {
 
             // Update testers if provided
             if (request.getAutomationTesterId() != null) {
-                Optional<Tester> automationTester = testerRepository.findById(request.getAutomationTesterId());
+                Optional<Tester> automationTester = Optional.ofNullable(testerService.getTesterById(request.getAutomationTesterId()));
                 if (automationTester.isPresent()) {
                     result.setAutomationTester(automationTester.get());
                 }
@@ -462,7 +480,7 @@ public class JenkinsController {
             }
 
             if (request.getManualTesterId() != null) {
-                Optional<Tester> manualTester = testerRepository.findById(request.getManualTesterId());
+                Optional<Tester> manualTester = Optional.ofNullable(testerService.getTesterById(request.getManualTesterId()));
                 if (manualTester.isPresent()) {
                     result.setManualTester(manualTester.get());
                 }
@@ -473,7 +491,7 @@ public class JenkinsController {
 
             // NEW: Update project if provided
             if (request.getProjectId() != null) {
-                Optional<Project> project = projectRepository.findById(request.getProjectId());
+                Optional<Project> project = Optional.ofNullable(projectService.getProjectById(request.getProjectId()));
                 if (project.isPresent()) {
                     result.setProject(project.get());
                 }
@@ -0,0 +1,217 @@
+package com.qa.automation.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.qa.automation.model.SyncJob;
+import com.qa.automation.service.JenkinsService;
+import com.qa.automation.service.SyncJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Push endpoints Jenkins calls when a build finishes, so results arrive without polling. Callers have no
+ * user session; they authenticate with the shared X-Ingest-Token header (jenkins.ingest.token), and ingestion
+ * is disabled while no token is configured. Work is queued on the sync job executor and the response
+ * carries the sync job to poll.
+ */
+@RestController
+@RequestMapping("/api/jenkins/ingest")
+public class JenkinsIngestController {
+
+    private static final String INGEST_TOKEN_HEADER = "X-Ingest-Token";
+
+    // Notification plugin phases after which the build result is final
+    private static final Set<String> FINISHED_PHASES = Set.of("COMPLETED", "FINALIZED");
+
+    @Autowired
+    private JenkinsService jenkinsService;
+
+    @Autowired
+    private SyncJobService syncJobService;
+
+    @Value("${jenkins.ingest.token:}")
+    private String ingestToken;
+
+    /**
+     * Build notification in the Notification plugin's JSON format: {"name": job, "build": {"number", "phase", "status"}}.
+     * The finished build is synced from Jenkins; other phases are acknowledged and ignored.
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Map<String, Object>> ingestNotification(
+            @RequestHeader(value = INGEST_TOKEN_HEADER, required = false) String token,
+            @RequestBody JsonNode notification) {
+        if (!isAuthorized(token)) {
+            return unauthorized();
+        }
+
+        String jobName = notification.path("name").asText("");
+        JsonNode build = notification.path("build");
+        String buildNumber = build.path("number").asText("");
+        String phase = build.path("phase").asText("");
+        if (jobName.isEmpty() || buildNumber.isEmpty()) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "Notification must contain name and build.number");
+            return ResponseEntity.badRequest().body(response);
+        }
+        if (!phase.isEmpty() && !FINISHED_PHASES.contains(phase.toUpperCase())) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("queued", false);
+            response.put("message", "Ignoring phase " + phase + " for " + jobName + " #" + buildNumber);
+            return ResponseEntity.ok(response);
+        }
+
+        SyncJob syncJob = syncJobService.submit(SyncJobService.TYPE_JENKINS_INGEST, jobName + "#" + buildNumber, job -> {
+            if (!jenkinsService.syncJobBuildFromJenkins(jobName, buildNumber)) {
+                throw new RuntimeException("Failed to sync " + jobName + " #" + buildNumber + " from Jenkins");
+            }
+            Map<String, Object> result = new HashMap<>();
+            result.put("jobName", jobName);
+            result.put("buildNumber", buildNumber);
+            return result;
+        });
+        return accepted(syncJob);
+    }
+
+    /**
+     * Post-build upload of the TestNG (or Surefire) XML as a multipart "file" part. Several files of one build
+     * (e.g. per-class Surefire TEST-*.xml) add up; re-uploading a file replaces the test cases of its classes.
+     * buildTimestamp is the build start in epoch millis; without it the report's own start time is used.
+     */
+    @PostMapping(value = "/testng", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Map<String, Object>> ingestTestNGUpload(
+            @RequestHeader(value = INGEST_TOKEN_HEADER, required = false) String token,
+            @RequestParam String jobName,
+            @RequestParam String buildNumber,
+            @RequestParam(required = false) String buildStatus,
+            @RequestParam(required = false) String buildUrl,
+            @RequestParam(required = false) Long buildTimestamp,
+            @RequestParam("file") MultipartFile file) {
+        if (!isAuthorized(token)) {
+            return unauthorized();
+        }
+        try (InputStream in = file.getInputStream()) {
+            return queueReport(jobName, buildNumber, buildStatus, buildUrl, buildTimestamp, in);
+        }
+        catch (IOException e) {
+            return uploadFailed(e);
+        }
+    }
+
+    /**
+     * Same as the multipart upload, with the XML as the raw request body (no multipart size limit)
+     */
+    @PostMapping(value = "/testng", consumes = {MediaType.APPLICATION_XML_VALUE, MediaType.TEXT_XML_VALUE})
+    public ResponseEntity<Map<String, Object>> ingestTestNGBody(
+            @RequestHeader(value = INGEST_TOKEN_HEADER, required = false) String token,
+            @RequestParam String jobName,
+            @RequestParam String buildNumber,
+            @RequestParam(required = false) String buildStatus,
+            @RequestParam(required = false) String buildUrl,
+            @RequestParam(required = false) Long buildTimestamp,
+            HttpServletRequest request) {
+        if (!isAuthorized(token)) {
+            return unauthorized();
+        }
+        try (InputStream in = request.getInputStream()) {
+            return queueReport(jobName, buildNumber, buildStatus, buildUrl, buildTimestamp, in);
+        }
+        catch (IOException e) {
+            return uploadFailed(e);
+        }
+    }
+
+    /**
+     * Spool the report to a temp file so the request returns once it is received; the queued job parses it
+     * and deletes the file
+     */
+    private ResponseEntity<Map<String, Object>> queueReport(String jobName, String buildNumber, String buildStatus,
+                                                           String buildUrl, Long buildTimestamp, InputStream report)
+            throws IOException {
+        Path xmlFile = Files.createTempFile("jenkins-ingest-", ".xml");
+        try {
+            Files.copy(report, xmlFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (IOException e) {
+            Files.deleteIfExists(xmlFile);
+            throw e;
+        }
+
+        // Each upload is its own target so a second upload is never collapsed onto one holding another file;
+        // uploads of the same build are serialized by the service
+        String target = jobName + "#" + buildNumber + "/" + xmlFile.getFileName();
+        SyncJob syncJob = syncJobService.submit(SyncJobService.TYPE_JENKINS_INGEST, target, job -> {
+            try {
+                return jenkinsService.ingestTestNGReport(jobName, buildNumber, buildStatus, buildUrl, buildTimestamp,
+                        xmlFile, job);
+            }
+            finally {
+                deleteQuietly(xmlFile);
+            }
+        });
+        if (syncJob.isRejected()) {
+            // Never ran, so the job will not clean up
+            deleteQuietly(xmlFile);
+        }
+        return accepted(syncJob);
+    }
+
+    private boolean isAuthorized(String token) {
+        if (ingestToken == null || ingestToken.isBlank() || token == null) {
+            return false;
+        }
+        // Constant-time comparison so the token cannot be guessed from response timings
+        return MessageDigest.isEqual(ingestToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ResponseEntity<Map<String, Object>> unauthorized() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("error", ingestToken == null || ingestToken.isBlank()
+                ? "Build ingestion is disabled (jenkins.ingest.token is not set)"
+                : "Missing or invalid " + INGEST_TOKEN_HEADER);
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+    }
+
+    private ResponseEntity<Map<String, Object>> accepted(SyncJob syncJob) {
+        Map<String, Object> response = syncJob.toStatusMap();
+        boolean rejected = syncJob.isRejected();
+        response.put("queued", !rejected);
+        response.put("statusUrl", "/api/jenkins/sync/jobs/" + syncJob.getId());
+        // A full ingest queue is reported as 503 so Jenkins-side retries kick in
+        return ResponseEntity.status(rejected ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.ACCEPTED).body(response);
+    }
+
+    private ResponseEntity<Map<String, Object>> uploadFailed(IOException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("error", "Failed to receive TestNG report: " + e.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException e) {
+            System.err.println("Failed to delete ingest file " + file + ": " + e.getMessage());
+        }
+    }
+}
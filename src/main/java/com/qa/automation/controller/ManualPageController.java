@@ -3,25 +3,32 @@ package com.qa.automation.controller;
 import com.qa.automation.config.JiraConfig;
 import com.qa.automation.dto.JiraIssueDto;
 import com.qa.automation.dto.JiraTestCaseDto;
+import com.qa.automation.dto.KeysetPage;
 import com.qa.automation.model.AutomationFlagsRequest;
 import com.qa.automation.model.Domain;
 import com.qa.automation.model.GlobalKeywordSearchRequest;
 import com.qa.automation.model.KeywordSearchRequest;
 import com.qa.automation.model.Project;
 import com.qa.automation.model.SaveTestCaseRequest;
+import com.qa.automation.model.SyncJob;
 import com.qa.automation.model.TestCaseMappingRequest;
 import com.qa.automation.model.Tester;
 import com.qa.automation.service.JiraIntegrationService;
+import com.qa.automation.service.JiraKeywordIndexService;
 import com.qa.automation.service.ManualPageService;
+import com.qa.automation.service.NdjsonExportService;
 import com.qa.automation.service.QTestService;
+import com.qa.automation.service.SyncJobService;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -31,6 +38,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/manual-page")
@@ -44,12 +52,18 @@ public class ManualPageController {
     @Autowired
     private JiraIntegrationService jiraIntegrationService;
 
+    @Autowired
+    private JiraKeywordIndexService jiraKeywordIndexService;
+
     @Autowired
     private QTestService qTestService;
 
     @Autowired
     private JiraConfig jiraConfig;
 
+    @Autowired
+    private SyncJobService syncJobService;
+
     @GetMapping("/sprints")
     public ResponseEntity<List<Map<String, Object>>> getAvailableSprints(
             @RequestParam(required = false) String jiraProjectKey,
@@ -87,27 +101,66 @@ public class ManualPageController {
     }
 
     @PostMapping("/sprints/{sprintId}/sync")
-    public ResponseEntity<List<JiraIssueDto>> syncSprintIssues(
+    public ResponseEntity<Map<String, Object>> syncSprintIssues(
             @PathVariable String sprintId,
             @RequestParam(required = false) String jiraProjectKey,
             @RequestParam(required = false) String jiraBoardId) {
         try {
-            logger.info("Syncing issues for sprint: {} (Project: {}, Board: {})",
+            logger.info("Starting background sync for sprint: {} (Project: {}, Board: {})",
                     sprintId, jiraProjectKey, jiraBoardId);
-            List<JiraIssueDto> issues = manualPageService.fetchAndSyncSprintIssues(
-                    sprintId, jiraProjectKey, jiraBoardId);
-            return ResponseEntity.ok(issues);
+            String target = manualPageService.sprintSyncTarget(sprintId, jiraProjectKey);
+            SyncJob syncJob = syncJobService.submit(SyncJobService.TYPE_SPRINT_SYNC, target, job -> {
+                List<JiraIssueDto> issues = manualPageService.fetchAndSyncSprintIssues(
+                        sprintId, jiraProjectKey, jiraBoardId, job);
+                Map<String, Object> result = new HashMap<>();
+                result.put("sprintId", sprintId);
+                result.put("issuesSynced", issues.size());
+                return result;
+            });
+            Map<String, Object> response = syncJob.toStatusMap();
+            response.put("statusUrl", "/api/manual-page/sync-jobs/" + syncJob.getId());
+            if (syncJob.isRejected()) {
+                response.put("message", "Sync queue is full, try again later");
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+            }
+            response.put("message", "Sprint sync started");
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
         }
         catch (Exception e) {
-            logger.error("Error syncing sprint issues: {}", e.getMessage(), e);
+            logger.error("Error starting sprint sync: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    @GetMapping("/sync-jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> getSyncJobStatus(@PathVariable String jobId) {
+        Optional<SyncJob> syncJob = syncJobService.getJob(jobId);
+        if (syncJob.isEmpty()) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("error", "Sync job not found: " + jobId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        return ResponseEntity.ok(syncJob.get().toStatusMap());
+    }
+
+    /**
+     * Issues of a sprint, or with size a keyset page after cursor; the next cursor comes back in X-Next-Cursor
+     */
     @GetMapping("/sprints/{sprintId}/issues")
-    public ResponseEntity<List<JiraIssueDto>> getSprintIssues(@PathVariable String sprintId) {
+    public ResponseEntity<List<JiraIssueDto>> getSprintIssues(
+            @PathVariable String sprintId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
         try {
             logger.info("Getting issues for sprint: {}", sprintId);
+            if (size != null) {
+                KeysetPage<JiraIssueDto> page = manualPageService.getSprintIssuesPage(sprintId, cursor, size);
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                if (page.getNextCursor() != null) {
+                    response.header(KeysetPage.NEXT_CURSOR_HEADER, String.valueOf(page.getNextCursor()));
+                }
+                return response.body(page.getItems());
+            }
             List<JiraIssueDto> issues = manualPageService.getSprintIssues(sprintId);
             return ResponseEntity.ok(issues);
         }
@@ -117,6 +170,15 @@ public class ManualPageController {
         }
     }
 
+    /**
+     * Issues of a sprint as newline-delimited JSON, written page by page from the database
+     */
+    @GetMapping(value = "/sprints/{sprintId}/issues", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> exportSprintIssues(@PathVariable String sprintId) {
+        StreamingResponseBody body = out -> manualPageService.exportSprintIssues(sprintId, out);
+        return ResponseEntity.ok().contentType(NdjsonExportService.APPLICATION_NDJSON).body(body);
+    }
+
     @PutMapping("/test-cases/{testCaseId}/automation-flags")
     public ResponseEntity<JiraTestCaseDto> updateAutomationFlags(
             @PathVariable("testCaseId") String testCaseIdStr,
@@ -229,7 +291,7 @@ public class ManualPageController {
         try {
             logger.info("Performing global keyword search for '{}' in project: {} sprint: {}",
                     request.getKeyword(), request.getJiraProjectKey(), request.getSprintId());
-            Map<String, Object> searchResults = jiraIntegrationService.searchKeywordGlobally(
+            Map<String, Object> searchResults = jiraKeywordIndexService.search(
                     request.getKeyword(), request.getJiraProjectKey(), request.getSprintId());
             return ResponseEntity.ok(searchResults);
         }
@@ -0,0 +1,73 @@
+package com.qa.automation.controller;
+
+import com.qa.automation.model.SyncJob;
+import com.qa.automation.service.SyncSchedulerService;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runtime controls for the background sync scheduler: GET /actuator/syncscheduler for its state, and
+ * POST /actuator/syncscheduler/{action} with pause, resume, trigger-jenkins, trigger-full-sync or trigger-sprints.
+ * The write operations require the ADMIN role (see SecurityConfig).
+ */
+@Component
+@Endpoint(id = "syncscheduler")
+public class SyncSchedulerEndpoint {
+
+    @Autowired
+    private SyncSchedulerService syncSchedulerService;
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return syncSchedulerService.getStatus();
+    }
+
+    @WriteOperation
+    public Map<String, Object> control(@Selector String action) {
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("action", action);
+        switch (action) {
+            case "pause":
+                syncSchedulerService.pause();
+                break;
+            case "resume":
+                syncSchedulerService.resume();
+                break;
+            case "trigger-jenkins":
+                SyncJob jenkinsJob = syncSchedulerService.triggerJenkins();
+                if (jenkinsJob == null) {
+                    response.put("error", "A scheduled Jenkins sync is still running; try again when it finishes");
+                    return response;
+                }
+                response.put("jobs", toStatusMaps(List.of(jenkinsJob)));
+                break;
+            case "trigger-full-sync":
+                response.put("jobs", toStatusMaps(List.of(syncSchedulerService.triggerFullJenkinsSync())));
+                break;
+            case "trigger-sprints":
+                response.put("jobs", toStatusMaps(syncSchedulerService.triggerSprints()));
+                break;
+            default:
+                response.put("error", "Unknown action: " + action);
+                return response;
+        }
+        response.put("paused", syncSchedulerService.isPaused());
+        return response;
+    }
+
+    private List<Map<String, Object>> toStatusMaps(List<SyncJob> jobs) {
+        List<Map<String, Object>> statusMaps = new ArrayList<>();
+        for (SyncJob job : jobs) {
+            statusMaps.add(job.toStatusMap());
+        }
+        return statusMaps;
+    }
+}
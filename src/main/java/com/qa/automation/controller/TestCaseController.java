@@ -1,6 +1,8 @@
 package com.qa.automation.controller;
 
+import com.qa.automation.dto.KeysetPage;
 import com.qa.automation.model.TestCase;
+import com.qa.automation.service.NdjsonExportService;
 import com.qa.automation.service.TestCaseService;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +17,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/testcases")
@@ -23,12 +26,34 @@ public class TestCaseController {
     @Autowired
     private TestCaseService testCaseService;
 
+    /**
+     * All test cases, or with size a keyset page after cursor; the next cursor comes back in X-Next-Cursor
+     */
     @GetMapping
-    public ResponseEntity<List<TestCase>> getAllTestCases() {
+    public ResponseEntity<List<TestCase>> getAllTestCases(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
+        if (size != null) {
+            KeysetPage<TestCase> page = testCaseService.getTestCasesPage(cursor, size);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(KeysetPage.NEXT_CURSOR_HEADER, String.valueOf(page.getNextCursor()));
+            }
+            return response.body(page.getItems());
+        }
         List<TestCase> testCases = testCaseService.getAllTestCases();
         return ResponseEntity.ok(testCases);
     }
 
+    /**
+     * All test cases as newline-delimited JSON, streamed from the database
+     */
+    @GetMapping(params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> exportTestCases() {
+        StreamingResponseBody body = out -> testCaseService.exportTestCases(out);
+        return ResponseEntity.ok().contentType(NdjsonExportService.APPLICATION_NDJSON).body(body);
+    }
+
     @PostMapping
     public ResponseEntity<?> createTestCase(@RequestBody TestCase testCase) {
         try {
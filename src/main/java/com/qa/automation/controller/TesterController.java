@@ -1,14 +1,23 @@
 package com.qa.automation.controller;
 
+import com.qa.automation.dto.KeysetPage;
 import com.qa.automation.model.Tester;
+import com.qa.automation.service.NdjsonExportService;
+import com.qa.automation.service.TesterAvatarService;
 import com.qa.automation.service.TesterService;
+import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.Base64;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -22,21 +31,57 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/testers")
 public class TesterController {
 
+    // Request attributes of Tomcat's sendfile support
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     @Autowired
     private TesterService testerService;
 
+    @Autowired
+    private TesterAvatarService avatarService;
+
+    @Value("${tester.avatar.cache-max-age-seconds:86400}")
+    private long avatarMaxAgeSeconds;
+
+    /**
+     * All testers, or with size a keyset page after cursor; the next cursor comes back in X-Next-Cursor
+     */
     @GetMapping
-    public ResponseEntity<List<Tester>> getAllTesters() {
+    public ResponseEntity<List<Tester>> getAllTesters(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer size) {
+        if (size != null) {
+            KeysetPage<Tester> page = testerService.getTestersPage(cursor, size);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(KeysetPage.NEXT_CURSOR_HEADER, String.valueOf(page.getNextCursor()));
+            }
+            return response.body(page.getItems());
+        }
         List<Tester> testers = testerService.getAllTesters();
         return ResponseEntity.ok(testers);
     }
 
+    /**
+     * All testers as newline-delimited JSON, streamed from the database
+     */
+    @GetMapping(params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> exportTesters() {
+        StreamingResponseBody body = out -> testerService.exportTesters(out);
+        return ResponseEntity.ok().contentType(NdjsonExportService.APPLICATION_NDJSON).body(body);
+    }
+
     @PostMapping
     public ResponseEntity<?> createTester(@RequestBody Tester tester) {
         try {
@@ -66,24 +111,84 @@ public class TesterController {
     public ResponseEntity<Tester> getTesterById(@PathVariable Long id) {
         Tester tester = testerService.getTesterById(id);
         if (tester != null) {
-            return ResponseEntity.ok(tester);
+            return ResponseEntity.ok(avatarService.withAvatarUrls(tester));
         }
         return ResponseEntity.notFound().build();
     }
 
+    /**
+     * Avatar image (or its thumbnail) with validators for conditional GETs. On Tomcat the file is handed
+     * to the connector's sendfile support, so the bytes never pass through the JVM heap.
+     */
+    @GetMapping("/{id}/avatar")
+    public ResponseEntity<Resource> getTesterAvatar(@PathVariable Long id,
+                                                    @RequestParam(defaultValue = "false") boolean thumbnail,
+                                                    WebRequest webRequest,
+                                                    HttpServletRequest request) {
+        Optional<Path> avatar = avatarService.resolve(id, thumbnail);
+        if (avatar.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            Path file = avatar.get();
+            long lastModified = Files.getLastModifiedTime(file).toMillis();
+            long length = Files.size(file);
+            String etag = avatarEtag(lastModified, length);
+            if (webRequest.checkNotModified(etag, lastModified)) {
+                // 304 with validators already written by checkNotModified
+                return null;
+            }
+
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.IMAGE_PNG)
+                    .contentLength(length)
+                    .eTag(etag)
+                    .lastModified(lastModified)
+                    .cacheControl(CacheControl.maxAge(avatarMaxAgeSeconds, TimeUnit.SECONDS).cachePrivate());
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, file.toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, length);
+                return response.build();
+            }
+            return response.body(new FileSystemResource(file));
+        }
+        catch (IOException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @GetMapping("/uploads/{filename}")
-    public ResponseEntity<String> getTesterImage(@PathVariable String filename) {
+    public ResponseEntity<String> getTesterImage(@PathVariable String filename, WebRequest webRequest) {
+        Optional<Path> upload = avatarService.resolveUpload(filename);
+        if (upload.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Image not found");
+        }
         try {
-            Path filePath = Paths.get("uploads", filename);
+            Path filePath = upload.get();
+            long lastModified = Files.getLastModifiedTime(filePath).toMillis();
+            String etag = avatarEtag(lastModified, Files.size(filePath));
+            if (webRequest.checkNotModified(etag, lastModified)) {
+                return null;
+            }
             byte[] fileBytes = Files.readAllBytes(filePath);
             String base64 = Base64.getEncoder().encodeToString(fileBytes);
-            return ResponseEntity.ok(base64);
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .lastModified(lastModified)
+                    .cacheControl(CacheControl.maxAge(avatarMaxAgeSeconds, TimeUnit.SECONDS).cachePrivate())
+                    .body(base64);
         }
         catch (IOException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Image not found");
         }
     }
 
+    private static String avatarEtag(long lastModified, long length) {
+        return "\"" + Long.toHexString(lastModified) + "-" + Long.toHexString(length) + "\"";
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> updateTester(@PathVariable Long id, @RequestBody Tester tester) {
         try {
@@ -102,14 +207,7 @@ public class TesterController {
     public ResponseEntity<Void> deleteTester(@PathVariable Long id) {
         boolean deleted = testerService.deleteTester(id);
         if (deleted) {
-            Path imagePath = Paths.get("uploads", id + ".png");
-            try {
-                Files.deleteIfExists(imagePath);
-            }
-            catch (IOException e) {
-                // Optional: log the failure, but don't fail the delete just for image
-                System.err.println("Failed to delete image for tester ID " + id + ": " + e.getMessage());
-            }
+            // The avatar and its thumbnail are removed by the service
             return ResponseEntity.noContent().build();
         }
         return ResponseEntity.notFound().build();
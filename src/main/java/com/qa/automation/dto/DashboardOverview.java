@@ -0,0 +1,133 @@
+package com.qa.automation.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Whole dashboard in one response: overall totals plus the status breakdown of every domain and project
+ */
+public class DashboardOverview {
+    private DashboardStats totals = new DashboardStats();
+    private List<DomainOverview> domains = new ArrayList<>();
+
+    public DashboardStats getTotals() {
+        return totals;
+    }
+
+    public void setTotals(DashboardStats totals) {
+        this.totals = totals;
+    }
+
+    public List<DomainOverview> getDomains() {
+        return domains;
+    }
+
+    public void setDomains(List<DomainOverview> domains) {
+        this.domains = domains;
+    }
+
+    public static class DomainOverview {
+        private Long id;
+        private String name;
+        private String status;
+        private DashboardStats stats = new DashboardStats();
+        private List<ProjectOverview> projects = new ArrayList<>();
+
+        public DomainOverview() {
+        }
+
+        public DomainOverview(Long id, String name, String status) {
+            this.id = id;
+            this.name = name;
+            this.status = status;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public DashboardStats getStats() {
+            return stats;
+        }
+
+        public void setStats(DashboardStats stats) {
+            this.stats = stats;
+        }
+
+        public List<ProjectOverview> getProjects() {
+            return projects;
+        }
+
+        public void setProjects(List<ProjectOverview> projects) {
+            this.projects = projects;
+        }
+    }
+
+    public static class ProjectOverview {
+        private Long id;
+        private String name;
+        private String status;
+        private DashboardStats stats = new DashboardStats();
+
+        public ProjectOverview() {
+        }
+
+        public ProjectOverview(Long id, String name, String status) {
+            this.id = id;
+            this.name = name;
+            this.status = status;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public void setStatus(String status) {
+            this.status = status;
+        }
+
+        public DashboardStats getStats() {
+            return stats;
+        }
+
+        public void setStats(DashboardStats stats) {
+            this.stats = stats;
+        }
+    }
+}
@@ -7,8 +7,31 @@ public class DashboardStats {
     private long automatedCount;
     private long manualCount;
     private long inProgressCount;
+    private long readyCount;
     private long completedCount;
 
+    /**
+     * Add test cases of one status to the totals; manualCount is everything not yet automated
+     */
+    public void addTestCases(String status, long count) {
+        totalTestCases += count;
+        if ("Automated".equals(status)) {
+            automatedCount += count;
+        }
+        else {
+            manualCount += count;
+            if ("In Progress".equals(status)) {
+                inProgressCount += count;
+            }
+            else if ("Ready to Automate".equals(status)) {
+                readyCount += count;
+            }
+            else if ("Completed".equals(status)) {
+                completedCount += count;
+            }
+        }
+    }
+
     // Getters and Setters
     public long getTotalTesters() {
         return totalTesters;
@@ -58,6 +81,14 @@ public class DashboardStats {
         this.inProgressCount = inProgressCount;
     }
 
+    public long getReadyCount() {
+        return readyCount;
+    }
+
+    public void setReadyCount(long readyCount) {
+        this.readyCount = readyCount;
+    }
+
     public long getCompletedCount() {
         return completedCount;
     }
@@ -0,0 +1,11 @@
+package com.qa.automation.dto;
+
+/**
+ * Job name with the frequency recorded on its latest build
+ */
+public interface JenkinsJobFrequency {
+
+    String getJobName();
+
+    String getJobFrequency();
+}
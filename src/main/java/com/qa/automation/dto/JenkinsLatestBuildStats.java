@@ -0,0 +1,19 @@
+package com.qa.automation.dto;
+
+/**
+ * Aggregates over the latest build of every Jenkins job, read in one query
+ */
+public interface JenkinsLatestBuildStats {
+
+    Long getTotalJobs();
+
+    Long getSuccessfulJobs();
+
+    Long getFailedJobs();
+
+    Long getTotalTests();
+
+    Long getPassedTests();
+
+    Long getFailedTests();
+}
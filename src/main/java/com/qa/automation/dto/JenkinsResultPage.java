@@ -0,0 +1,25 @@
+package com.qa.automation.dto;
+
+import com.qa.automation.model.JenkinsResult;
+import java.util.List;
+
+/**
+ * One keyset page of Jenkins results; nextCursor is null on the last page
+ */
+public class JenkinsResultPage {
+    private final List<JenkinsResult> results;
+    private final String nextCursor;
+
+    public JenkinsResultPage(List<JenkinsResult> results, String nextCursor) {
+        this.results = results;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<JenkinsResult> getResults() {
+        return results;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,25 @@
+package com.qa.automation.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columns of one Jenkins test case as listed under its result
+ */
+public interface JenkinsTestCaseSummary {
+
+    Long getId();
+
+    String getTestName();
+
+    String getClassName();
+
+    String getStatus();
+
+    Double getDuration();
+
+    String getErrorMessage();
+
+    String getStackTrace();
+
+    LocalDateTime getCreatedAt();
+}
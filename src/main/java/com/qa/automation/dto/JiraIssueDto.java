@@ -1,5 +1,6 @@
 package com.qa.automation.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -19,6 +20,12 @@ public class JiraIssueDto {
     private Integer keywordCount;
     private String searchKeyword;
     private List<JiraTestCaseDto> linkedTestCases = new ArrayList<>();
+    // Comment bodies as plain text; only used to build the keyword index, not sent to clients
+    @JsonIgnore
+    private List<String> comments = new ArrayList<>();
+    // Jira "updated" timestamp in UTC; left null when the changelog could not be read
+    @JsonIgnore
+    private LocalDateTime jiraUpdatedAt;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -138,6 +145,22 @@ public class JiraIssueDto {
         this.searchKeyword = searchKeyword;
     }
 
+    public List<String> getComments() {
+        return comments;
+    }
+
+    public void setComments(List<String> comments) {
+        this.comments = comments;
+    }
+
+    public LocalDateTime getJiraUpdatedAt() {
+        return jiraUpdatedAt;
+    }
+
+    public void setJiraUpdatedAt(LocalDateTime jiraUpdatedAt) {
+        this.jiraUpdatedAt = jiraUpdatedAt;
+    }
+
     public List<JiraTestCaseDto> getLinkedTestCases() {
         return linkedTestCases;
     }
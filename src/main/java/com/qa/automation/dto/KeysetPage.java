@@ -0,0 +1,40 @@
+package com.qa.automation.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of an id-ordered list. nextCursor is the id to pass as cursor for the following page,
+ * or null on the last page; controllers return it in the X-Next-Cursor header.
+ */
+public class KeysetPage<T> {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private final List<T> items;
+    private final Long nextCursor;
+
+    public KeysetPage(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Build a page from a query that asked for size + 1 rows; the extra row only signals that more exist
+     */
+    public static <T> KeysetPage<T> fromLookahead(List<T> rows, int size, Function<T, Long> idOf) {
+        if (rows.size() <= size) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, size);
+        return new KeysetPage<>(items, idOf.apply(items.get(size - 1)));
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,60 @@
+package com.qa.automation.dto;
+
+/**
+ * One row of the grouped dashboard query: a domain, one of its projects (null when the domain has none)
+ * and a test case status with its count (null status and zero count when the project has no test cases)
+ */
+public class StatusCountRow {
+    private final Long domainId;
+    private final String domainName;
+    private final String domainStatus;
+    private final Long projectId;
+    private final String projectName;
+    private final String projectStatus;
+    private final String testCaseStatus;
+    private final long count;
+
+    public StatusCountRow(Long domainId, String domainName, String domainStatus, Long projectId,
+                          String projectName, String projectStatus, String testCaseStatus, Long count) {
+        this.domainId = domainId;
+        this.domainName = domainName;
+        this.domainStatus = domainStatus;
+        this.projectId = projectId;
+        this.projectName = projectName;
+        this.projectStatus = projectStatus;
+        this.testCaseStatus = testCaseStatus;
+        this.count = count != null ? count : 0;
+    }
+
+    public Long getDomainId() {
+        return domainId;
+    }
+
+    public String getDomainName() {
+        return domainName;
+    }
+
+    public String getDomainStatus() {
+        return domainStatus;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public String getProjectStatus() {
+        return projectStatus;
+    }
+
+    public String getTestCaseStatus() {
+        return testCaseStatus;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
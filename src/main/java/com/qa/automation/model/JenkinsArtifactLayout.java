@@ -0,0 +1,119 @@
+package com.qa.automation.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Where a job's test results were found on its last discovered build: the extraction strategy and, for XML
+ * artifacts, the report paths (a trailing "/" marks a directory downloaded as one zip). Tried first on the
+ * next build so the common case skips discovery.
+ */
+@Entity
+@Table(name = "jenkins_artifact_layouts")
+public class JenkinsArtifactLayout {
+
+    public static final String STRATEGY_XML_ARTIFACTS = "XML_ARTIFACTS";
+    public static final String STRATEGY_ARCHIVE_ZIP = "ARCHIVE_ZIP";
+    public static final String STRATEGY_TEST_REPORT = "TEST_REPORT";
+    public static final String STRATEGY_CONSOLE_LOG = "CONSOLE_LOG";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false, unique = true)
+    private String jobName;
+
+    @Column(name = "strategy", nullable = false)
+    private String strategy;
+
+    // Newline separated artifact paths
+    @Column(name = "artifact_paths", columnDefinition = "TEXT")
+    private String artifactPaths;
+
+    @Column(name = "learned_from_build")
+    private String learnedFromBuild;
+
+    @Column(name = "learned_at")
+    private LocalDateTime learnedAt;
+
+    // Constructors
+    public JenkinsArtifactLayout() {
+    }
+
+    public JenkinsArtifactLayout(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public List<String> getArtifactPathList() {
+        List<String> paths = new ArrayList<>();
+        if (artifactPaths != null) {
+            for (String path : artifactPaths.split("\n")) {
+                if (!path.isBlank()) {
+                    paths.add(path);
+                }
+            }
+        }
+        return paths;
+    }
+
+    public void setArtifactPathList(List<String> paths) {
+        this.artifactPaths = paths == null || paths.isEmpty() ? null : String.join("\n", paths);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(String strategy) {
+        this.strategy = strategy;
+    }
+
+    public String getArtifactPaths() {
+        return artifactPaths;
+    }
+
+    public void setArtifactPaths(String artifactPaths) {
+        this.artifactPaths = artifactPaths;
+    }
+
+    public String getLearnedFromBuild() {
+        return learnedFromBuild;
+    }
+
+    public void setLearnedFromBuild(String learnedFromBuild) {
+        this.learnedFromBuild = learnedFromBuild;
+    }
+
+    public LocalDateTime getLearnedAt() {
+        return learnedAt;
+    }
+
+    public void setLearnedAt(LocalDateTime learnedAt) {
+        this.learnedAt = learnedAt;
+    }
+}
@@ -0,0 +1,111 @@
+package com.qa.automation.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Last Jenkins build synced per job, used to skip jobs that have not moved since the previous sync
+ */
+@Entity
+@Table(name = "jenkins_job_watermarks")
+public class JenkinsJobWatermark {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_name", nullable = false, unique = true)
+    private String jobName;
+
+    @Column(name = "last_build_number")
+    private Integer lastBuildNumber;
+
+    @Column(name = "last_build_result")
+    private String lastBuildResult;
+
+    @Column(name = "last_build_timestamp")
+    private LocalDateTime lastBuildTimestamp;
+
+    @Column(name = "last_synced_at")
+    private LocalDateTime lastSyncedAt;
+
+    // Constructors
+    public JenkinsJobWatermark() {
+    }
+
+    public JenkinsJobWatermark(String jobName) {
+        this.jobName = jobName;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onSync() {
+        lastSyncedAt = LocalDateTime.now();
+    }
+
+    /**
+     * True when the given latest completed build differs from what was last synced
+     */
+    public boolean hasMoved(Integer buildNumber, String buildResult) {
+        if (lastBuildNumber == null || !lastBuildNumber.equals(buildNumber)) {
+            return true;
+        }
+        return lastBuildResult == null ? buildResult != null : !lastBuildResult.equals(buildResult);
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public Integer getLastBuildNumber() {
+        return lastBuildNumber;
+    }
+
+    public void setLastBuildNumber(Integer lastBuildNumber) {
+        this.lastBuildNumber = lastBuildNumber;
+    }
+
+    public String getLastBuildResult() {
+        return lastBuildResult;
+    }
+
+    public void setLastBuildResult(String lastBuildResult) {
+        this.lastBuildResult = lastBuildResult;
+    }
+
+    public LocalDateTime getLastBuildTimestamp() {
+        return lastBuildTimestamp;
+    }
+
+    public void setLastBuildTimestamp(LocalDateTime lastBuildTimestamp) {
+        this.lastBuildTimestamp = lastBuildTimestamp;
+    }
+
+    public LocalDateTime getLastSyncedAt() {
+        return lastSyncedAt;
+    }
+
+    public void setLastSyncedAt(LocalDateTime lastSyncedAt) {
+        this.lastSyncedAt = lastSyncedAt;
+    }
+}
@@ -8,18 +8,28 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Objects;
 
 @Entity
-@Table(name = "jenkins_results")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Table(name = "jenkins_results", indexes = {
+        @Index(name = "idx_jenkins_results_job_timestamp", columnList = "job_name, build_timestamp"),
+        // Newer-build probe of the latest-per-job filter
+        @Index(name = "idx_jenkins_results_job_id", columnList = "job_name, id")
+}, uniqueConstraints = {
+        // One row per build; polling and push ingestion both upsert against it
+        @UniqueConstraint(name = "uk_jenkins_results_job_build", columnNames = {"job_name", "build_number"})
+})
 public class JenkinsResult {
 
     @Id
@@ -75,16 +85,16 @@ public class JenkinsResult {
     private String jobFrequency;
 
     // ENHANCEMENT: Added tester relationships
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "automation_tester_id")
     private Tester automationTester;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "manual_tester_id")
     private Tester manualTester;
 
     // EXISTING: Project relationship
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id")
     private Project project;
 
@@ -107,14 +117,23 @@ public class JenkinsResult {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
-        if (jobFrequency == null) {
-            jobFrequency = "Unknown";
-        }
+        updateDerivedFields();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        updateDerivedFields();
+    }
+
+    /**
+     * Persist pass percentage and inferred job frequency with the row so list queries can filter and sort on them
+     */
+    public void updateDerivedFields() {
+        passPercentage = (int) Math.round(getPassPercentageAsDouble());
+        if (jobFrequency == null || jobFrequency.isEmpty() || "Unknown".equals(jobFrequency)) {
+            inferJobFrequency();
+        }
     }
 
     // Getters and Setters
@@ -61,6 +61,10 @@ public class JiraIssue {
     @JsonIgnoreProperties("jiraIssue")
     private List<JiraTestCase> linkedTestCases = new ArrayList<>();
 
+    // Jira's own "updated" timestamp (UTC) as of the last sync that read the issue's changelog
+    @Column(name = "jira_updated_at")
+    private LocalDateTime jiraUpdatedAt;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -209,6 +213,14 @@ public class JiraIssue {
         this.updatedAt = updatedAt;
     }
 
+    public LocalDateTime getJiraUpdatedAt() {
+        return jiraUpdatedAt;
+    }
+
+    public void setJiraUpdatedAt(LocalDateTime jiraUpdatedAt) {
+        this.jiraUpdatedAt = jiraUpdatedAt;
+    }
+
     // Helper methods
     public void addLinkedTestCase(JiraTestCase testCase) {
         linkedTestCases.add(testCase);
@@ -54,12 +54,12 @@ public class JiraTestCase {
     @JsonIgnoreProperties("linkedTestCases")
     private JiraIssue jiraIssue;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id")
     @JsonIgnoreProperties({"testCases", "domain"})
     private Project project;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "tester_id")
     @JsonIgnoreProperties("testCases")
     private Tester assignedTester;
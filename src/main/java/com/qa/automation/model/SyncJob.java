@@ -0,0 +1,195 @@
+package com.qa.automation.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory state of a background sync run, exposed through the sync status endpoints
+ */
+public class SyncJob {
+
+    public static final String STATUS_QUEUED = "QUEUED";
+    public static final String STATUS_RUNNING = "RUNNING";
+    public static final String STATUS_COMPLETED = "COMPLETED";
+    public static final String STATUS_FAILED = "FAILED";
+
+    private static final int MAX_RECORDED_ERRORS = 100;
+
+    private final String id;
+    private final String type;
+    private final String target;
+    private final LocalDateTime createdAt;
+    private final AtomicInteger processedItems = new AtomicInteger();
+    private final AtomicInteger failedItems = new AtomicInteger();
+    private final List<String> errors = new ArrayList<>();
+    private volatile String status = STATUS_QUEUED;
+    private volatile String phase = "QUEUED";
+    private volatile int totalItems;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile Object result;
+    private volatile Long sqlStatements;
+
+    public SyncJob(String type, String target) {
+        this.id = UUID.randomUUID().toString();
+        this.type = type;
+        this.target = target;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public void markRunning() {
+        this.status = STATUS_RUNNING;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    public void markCompleted(Object result) {
+        this.result = result;
+        this.phase = "DONE";
+        this.status = STATUS_COMPLETED;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    public void markFailed(String error) {
+        addError(error);
+        this.status = STATUS_FAILED;
+        this.finishedAt = LocalDateTime.now();
+    }
+
+    public boolean isFinished() {
+        return STATUS_COMPLETED.equals(status) || STATUS_FAILED.equals(status);
+    }
+
+    /**
+     * Failed without ever starting: the sync job executor refused it
+     */
+    public boolean isRejected() {
+        return STATUS_FAILED.equals(status) && startedAt == null;
+    }
+
+    public void itemProcessed() {
+        processedItems.incrementAndGet();
+    }
+
+    public void itemFailed(String error) {
+        processedItems.incrementAndGet();
+        failedItems.incrementAndGet();
+        addError(error);
+    }
+
+    public void addError(String error) {
+        synchronized (errors) {
+            if (errors.size() < MAX_RECORDED_ERRORS) {
+                errors.add(error);
+            }
+        }
+    }
+
+    public long getDurationMs() {
+        if (startedAt == null) {
+            return 0;
+        }
+        LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+        return Duration.between(startedAt, end).toMillis();
+    }
+
+    public Map<String, Object> toStatusMap() {
+        Map<String, Object> statusMap = new LinkedHashMap<>();
+        statusMap.put("jobId", id);
+        statusMap.put("type", type);
+        statusMap.put("target", target);
+        statusMap.put("status", status);
+        statusMap.put("phase", phase);
+        statusMap.put("totalItems", totalItems);
+        statusMap.put("processedItems", processedItems.get());
+        statusMap.put("failedItems", failedItems.get());
+        statusMap.put("errors", getErrors());
+        statusMap.put("createdAt", createdAt);
+        statusMap.put("startedAt", startedAt);
+        statusMap.put("finishedAt", finishedAt);
+        statusMap.put("durationMs", getDurationMs());
+        if (sqlStatements != null) {
+            statusMap.put("sqlStatements", sqlStatements);
+        }
+        if (result != null) {
+            statusMap.put("result", result);
+        }
+        return statusMap;
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public void setPhase(String phase) {
+        this.phase = phase;
+    }
+
+    public int getTotalItems() {
+        return totalItems;
+    }
+
+    public void setTotalItems(int totalItems) {
+        this.totalItems = totalItems;
+    }
+
+    public int getProcessedItems() {
+        return processedItems.get();
+    }
+
+    public int getFailedItems() {
+        return failedItems.get();
+    }
+
+    public List<String> getErrors() {
+        synchronized (errors) {
+            return new ArrayList<>(errors);
+        }
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public Long getSqlStatements() {
+        return sqlStatements;
+    }
+
+    public void setSqlStatements(Long sqlStatements) {
+        this.sqlStatements = sqlStatements;
+    }
+
+    public Object getResult() {
+        return result;
+    }
+}
@@ -35,7 +35,7 @@ public class TestCase {
     private String status;
 
     // Relationship to Project
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
     @JsonIgnoreProperties({"testCases", "domain"})
     private Project project;
@@ -43,7 +43,7 @@ public class TestCase {
     // todo: add domain
 
     // Relationship to Tester
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "tester_id", nullable = false)
     @JsonIgnoreProperties("testCases")
     private Tester tester;
@@ -1,5 +1,6 @@
 package com.qa.automation.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -8,9 +9,11 @@ import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import java.time.LocalDateTime;
 
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Table(name = "testers")
 public class Tester {
 
@@ -33,6 +36,13 @@ public class Tester {
     @Column(name = "profile_image_url")
     private String profileImage;
 
+    // Avatar endpoint URLs filled in per response; the image bytes are never embedded in the JSON
+    @Transient
+    private String avatarUrl;
+
+    @Transient
+    private String avatarThumbnailUrl;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
@@ -110,6 +120,19 @@ public class Tester {
         this.profileImage = profileImageUrl;
     }
 
+    public String getAvatarUrl() {
+        return avatarUrl;
+    }
+
+    public String getAvatarThumbnailUrl() {
+        return avatarThumbnailUrl;
+    }
+
+    public void setAvatarUrls(String avatarUrl, String avatarThumbnailUrl) {
+        this.avatarUrl = avatarUrl;
+        this.avatarThumbnailUrl = avatarThumbnailUrl;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
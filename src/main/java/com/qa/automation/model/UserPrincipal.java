@@ -2,6 +2,8 @@ package com.qa.automation.model;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,9 +16,16 @@ public class UserPrincipal implements UserDetails {
         this.user = user;
     }
 
+    /**
+     * USER for everyone, plus the stored role as ROLE_ + upper-cased role (e.g. ROLE_ADMIN) for role-restricted endpoints
+     */
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Collections.singleton(new SimpleGrantedAuthority("USER"));
+        if (user.getRole() == null || user.getRole().isBlank()) {
+            return Collections.singleton(new SimpleGrantedAuthority("USER"));
+        }
+        return List.of(new SimpleGrantedAuthority("USER"),
+                new SimpleGrantedAuthority("ROLE_" + user.getRole().trim().toUpperCase(Locale.ROOT)));
     }
 
     @Override
@@ -1,5 +1,6 @@
 package com.qa.automation.repository;
 
+import com.qa.automation.dto.StatusCountRow;
 import com.qa.automation.model.Domain;
 import java.util.List;
 import java.util.Optional;
@@ -20,4 +21,12 @@ public interface DomainRepository extends JpaRepository<Domain, Long> {
     List<Domain> findActiveDomains();
 
     long countByStatus(String status);
+
+    // One row per (domain, project, test case status) with its test case count; domains without projects
+    // and projects without test cases still get a row with a null status and zero count
+    @Query("SELECT new com.qa.automation.dto.StatusCountRow(d.id, d.name, d.status, p.id, p.name, p.status, tc.status, COUNT(tc)) " +
+            "FROM Domain d LEFT JOIN d.projects p LEFT JOIN TestCase tc ON tc.project = p " +
+            "GROUP BY d.id, d.name, d.status, p.id, p.name, p.status, tc.status " +
+            "ORDER BY d.name, p.name")
+    List<StatusCountRow> getStatusCountsByDomainAndProject();
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.qa.automation.repository;
+
+import com.qa.automation.model.JenkinsArtifactLayout;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JenkinsArtifactLayoutRepository extends JpaRepository<JenkinsArtifactLayout, Long> {
+
+    Optional<JenkinsArtifactLayout> findByJobName(String jobName);
+
+}
@@ -0,0 +1,13 @@
+package com.qa.automation.repository;
+
+import com.qa.automation.model.JenkinsJobWatermark;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JenkinsJobWatermarkRepository extends JpaRepository<JenkinsJobWatermark, Long> {
+
+    Optional<JenkinsJobWatermark> findByJobName(String jobName);
+
+}
@@ -1,36 +1,55 @@
 package com.qa.automation.repository;
 
+import com.qa.automation.dto.JenkinsJobFrequency;
+import com.qa.automation.dto.JenkinsLatestBuildStats;
 import com.qa.automation.model.JenkinsResult;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface JenkinsResultRepository extends JpaRepository<JenkinsResult, Long> {
+public interface JenkinsResultRepository extends JpaRepository<JenkinsResult, Long>, JpaSpecificationExecutor<JenkinsResult> {
 
     @Query("SELECT jr FROM JenkinsResult jr WHERE jr.jobName = :jobName ORDER BY jr.buildTimestamp DESC")
     List<JenkinsResult> findLatestByJobName(@Param("jobName") String jobName);
 
-    @Query("SELECT jr FROM JenkinsResult jr WHERE jr.id IN " +
-            "(SELECT MAX(jr2.id) FROM JenkinsResult jr2 GROUP BY jr2.jobName) " +
-            "ORDER BY jr.jobName")
+    // Latest build per job is the highest id; ROW_NUMBER ranks each job once instead of a MAX(id) GROUP BY subquery
+    @Query(value = "SELECT jr.* FROM jenkins_results jr JOIN " +
+            "(SELECT id, ROW_NUMBER() OVER (PARTITION BY job_name ORDER BY id DESC) AS rn FROM jenkins_results) latest " +
+            "ON latest.id = jr.id AND latest.rn = 1 " +
+            "ORDER BY jr.job_name", nativeQuery = true)
     List<JenkinsResult> findLatestResultsForAllJobs();
 
-    Optional<JenkinsResult> findByJobNameAndBuildNumber(String jobName, String buildNumber);
-
-    // Get total test counts
-    @Query("SELECT COALESCE(SUM(jr.totalTests), 0) FROM JenkinsResult jr WHERE jr.id IN " +
-            "(SELECT MAX(jr2.id) FROM JenkinsResult jr2 GROUP BY jr2.jobName)")
-    Long getTotalTestsFromLatestBuilds();
+    // Frequency of each job's latest build; the sync scheduler derives its poll intervals from it
+    @Query(value = "SELECT jr.job_name AS jobName, jr.job_frequency AS jobFrequency FROM jenkins_results jr JOIN " +
+            "(SELECT id, ROW_NUMBER() OVER (PARTITION BY job_name ORDER BY id DESC) AS rn FROM jenkins_results) latest " +
+            "ON latest.id = jr.id AND latest.rn = 1", nativeQuery = true)
+    List<JenkinsJobFrequency> findLatestJobFrequencies();
 
-    @Query("SELECT COALESCE(SUM(jr.passedTests), 0) FROM JenkinsResult jr WHERE jr.id IN " +
-            "(SELECT MAX(jr2.id) FROM JenkinsResult jr2 GROUP BY jr2.jobName)")
-    Long getTotalPassedTestsFromLatestBuilds();
+    Optional<JenkinsResult> findByJobNameAndBuildNumber(String jobName, String buildNumber);
 
-    @Query("SELECT COALESCE(SUM(jr.failedTests), 0) FROM JenkinsResult jr WHERE jr.id IN " +
-            "(SELECT MAX(jr2.id) FROM JenkinsResult jr2 GROUP BY jr2.jobName)")
-    Long getTotalFailedTestsFromLatestBuilds();
+    @Query("SELECT DISTINCT jr.jobFrequency FROM JenkinsResult jr WHERE jr.jobFrequency IS NOT NULL ORDER BY jr.jobFrequency")
+    List<String> findDistinctJobFrequencies();
+
+    // Rows saved before pass percentage and job frequency were persisted at sync time, paged by id
+    @Query("SELECT jr FROM JenkinsResult jr WHERE jr.id > :afterId " +
+            "AND (jr.passPercentage IS NULL OR jr.jobFrequency IS NULL) ORDER BY jr.id")
+    List<JenkinsResult> findMissingDerivedFieldsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Job and test totals over the latest build of every job in a single pass
+    @Query(value = "SELECT COUNT(*) AS totalJobs, " +
+            "COALESCE(SUM(CASE WHEN build_status = 'SUCCESS' THEN 1 ELSE 0 END), 0) AS successfulJobs, " +
+            "COALESCE(SUM(CASE WHEN build_status = 'FAILURE' THEN 1 ELSE 0 END), 0) AS failedJobs, " +
+            "COALESCE(SUM(total_tests), 0) AS totalTests, " +
+            "COALESCE(SUM(passed_tests), 0) AS passedTests, " +
+            "COALESCE(SUM(failed_tests), 0) AS failedTests " +
+            "FROM (SELECT build_status, total_tests, passed_tests, failed_tests, " +
+            "ROW_NUMBER() OVER (PARTITION BY job_name ORDER BY id DESC) AS rn FROM jenkins_results) latest " +
+            "WHERE rn = 1", nativeQuery = true)
+    JenkinsLatestBuildStats getLatestBuildStats();
 }
\ No newline at end of file
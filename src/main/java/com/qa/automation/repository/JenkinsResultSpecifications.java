@@ -0,0 +1,182 @@
+package com.qa.automation.repository;
+
+import com.qa.automation.model.JenkinsResult;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Locale;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Criteria building blocks for the filtered Jenkins results list: latest build per job, the filter
+ * dropdowns, and keyset pagination over a sort column with the row id as tie-breaker.
+ */
+public final class JenkinsResultSpecifications {
+
+    // Stand-in for rows without a build timestamp, so the keyset comparison never sees NULL
+    private static final LocalDateTime NO_TIMESTAMP = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private JenkinsResultSpecifications() {
+    }
+
+    /**
+     * Columns the filtered list can be sorted by
+     */
+    public enum SortField {
+        JOB_NAME, BUILD_TIMESTAMP, PASS_PERCENTAGE;
+
+        public static SortField fromParam(String value) {
+            if (value == null || value.isEmpty()) {
+                return JOB_NAME;
+            }
+            switch (value.toLowerCase(Locale.ROOT)) {
+                case "jobname":
+                    return JOB_NAME;
+                case "buildtimestamp":
+                    return BUILD_TIMESTAMP;
+                case "passpercentage":
+                    return PASS_PERCENTAGE;
+                default:
+                    throw new IllegalArgumentException("Unsupported sortBy: " + value);
+            }
+        }
+
+        private String cursorValue(JenkinsResult result) {
+            switch (this) {
+                case BUILD_TIMESTAMP:
+                    return (result.getBuildTimestamp() != null ? result.getBuildTimestamp() : NO_TIMESTAMP).toString();
+                case PASS_PERCENTAGE:
+                    return String.valueOf(result.getPassPercentage() != null ? result.getPassPercentage() : 0);
+                default:
+                    return result.getJobName();
+            }
+        }
+    }
+
+    /**
+     * Only the newest build of each job: no row of the same job has a higher id, the same ranking as
+     * findLatestResultsForAllJobs. Kept as a correlated NOT EXISTS so the database filters and pages it.
+     */
+    public static Specification<JenkinsResult> latestPerJob() {
+        return (root, query, cb) -> {
+            Subquery<Long> newer = query.subquery(Long.class);
+            Root<JenkinsResult> newerResult = newer.from(JenkinsResult.class);
+            newer.select(newerResult.get("id"))
+                    .where(cb.equal(newerResult.get("jobName"), root.get("jobName")),
+                            cb.greaterThan(newerResult.get("id"), root.<Long>get("id")));
+            return cb.not(cb.exists(newer));
+        };
+    }
+
+    public static Specification<JenkinsResult> hasProject(Long projectId) {
+        return (root, query, cb) -> projectId == null ? null : cb.equal(root.get("project").get("id"), projectId);
+    }
+
+    public static Specification<JenkinsResult> hasAutomationTester(Long testerId) {
+        return (root, query, cb) -> testerId == null ? null : cb.equal(root.get("automationTester").get("id"), testerId);
+    }
+
+    public static Specification<JenkinsResult> hasJobFrequency(String jobFrequency) {
+        return (root, query, cb) -> isBlank(jobFrequency) ? null
+                : cb.equal(cb.lower(root.get("jobFrequency")), jobFrequency.toLowerCase(Locale.ROOT));
+    }
+
+    public static Specification<JenkinsResult> hasBuildStatus(String buildStatus) {
+        return (root, query, cb) -> isBlank(buildStatus) ? null
+                : cb.equal(cb.lower(root.get("buildStatus")), buildStatus.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Order by the sort field then id, and when a cursor from nextCursor is given keep only rows after it.
+     * Throws IllegalArgumentException for a malformed cursor.
+     */
+    public static Specification<JenkinsResult> keyset(SortField sortField, boolean ascending, String cursor) {
+        String afterValue = null;
+        Long afterId = null;
+        if (!isBlank(cursor)) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = decoded.lastIndexOf('|');
+                afterValue = decoded.substring(0, separator);
+                afterId = Long.valueOf(decoded.substring(separator + 1));
+                parseCursorValue(sortField, afterValue);
+            }
+            catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+        }
+
+        String cursorValue = afterValue;
+        Long cursorId = afterId;
+        return (root, query, cb) -> {
+            Expression<? extends Comparable> sortExpression = sortExpression(root, cb, sortField);
+            Expression<Long> id = root.get("id");
+
+            // Count queries reuse the specification but cannot carry an ORDER BY
+            if (!Long.class.equals(query.getResultType())) {
+                query.orderBy(ascending
+                        ? new Order[]{cb.asc(sortExpression), cb.asc(id)}
+                        : new Order[]{cb.desc(sortExpression), cb.desc(id)});
+            }
+
+            if (cursorId == null) {
+                return null;
+            }
+            return afterCursor(cb, sortExpression, id, sortField, ascending, cursorValue, cursorId);
+        };
+    }
+
+    /**
+     * Opaque cursor pointing just after the given row for the given sort field
+     */
+    public static String nextCursor(SortField sortField, JenkinsResult last) {
+        String raw = sortField.cursorValue(last) + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate afterCursor(CriteriaBuilder cb, Expression sortExpression,
+                                                                      Expression<Long> id, SortField sortField,
+                                                                      boolean ascending, String afterValue, Long afterId) {
+        Comparable value = parseCursorValue(sortField, afterValue);
+        if (ascending) {
+            return cb.or(cb.greaterThan(sortExpression, value),
+                    cb.and(cb.equal(sortExpression, value), cb.greaterThan(id, afterId)));
+        }
+        return cb.or(cb.lessThan(sortExpression, value),
+                cb.and(cb.equal(sortExpression, value), cb.lessThan(id, afterId)));
+    }
+
+    private static Expression<? extends Comparable> sortExpression(Root<JenkinsResult> root, CriteriaBuilder cb,
+                                                                   SortField sortField) {
+        switch (sortField) {
+            case BUILD_TIMESTAMP:
+                return cb.coalesce(root.<LocalDateTime>get("buildTimestamp"), NO_TIMESTAMP);
+            case PASS_PERCENTAGE:
+                return cb.coalesce(root.<Integer>get("passPercentage"), 0);
+            default:
+                return root.<String>get("jobName");
+        }
+    }
+
+    private static Comparable<?> parseCursorValue(SortField sortField, String value) {
+        switch (sortField) {
+            case BUILD_TIMESTAMP:
+                return LocalDateTime.parse(value);
+            case PASS_PERCENTAGE:
+                return Integer.valueOf(value);
+            default:
+                return value;
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isEmpty();
+    }
+}
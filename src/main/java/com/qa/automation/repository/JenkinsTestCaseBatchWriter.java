@@ -0,0 +1,56 @@
+package com.qa.automation.repository;
+
+import com.qa.automation.model.JenkinsTestCase;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * JDBC batch writer for Jenkins test cases. The entity uses IDENTITY ids, which stops Hibernate
+ * from batching inserts, so bulk loads from a build go through here instead of saveAll.
+ */
+@Repository
+public class JenkinsTestCaseBatchWriter {
+
+    private static final String INSERT_SQL = "INSERT INTO jenkins_test_cases " +
+            "(test_name, class_name, status, duration, error_message, stack_trace, jenkins_result_id, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${jenkins.persistence.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * Insert the given test cases in JDBC batches and return the number of rows written
+     */
+    public int insertAll(List<JenkinsTestCase> testCases) {
+        if (testCases.isEmpty()) {
+            return 0;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, testCases, Math.max(1, batchSize), (ps, testCase) -> {
+            ps.setString(1, testCase.getTestName() != null ? testCase.getTestName() : "Unknown");
+            ps.setString(2, testCase.getClassName());
+            ps.setString(3, testCase.getStatus() != null ? testCase.getStatus() : "UNKNOWN");
+            if (testCase.getDuration() != null) {
+                ps.setDouble(4, testCase.getDuration());
+            }
+            else {
+                ps.setNull(4, Types.DOUBLE);
+            }
+            ps.setString(5, testCase.getErrorMessage());
+            ps.setString(6, testCase.getStackTrace());
+            ps.setLong(7, testCase.getJenkinsResult().getId());
+            ps.setTimestamp(8, testCase.getCreatedAt() != null ? Timestamp.valueOf(testCase.getCreatedAt()) : now);
+        });
+        return testCases.size();
+    }
+}
@@ -1,9 +1,20 @@
 package com.qa.automation.repository;
 
+import com.qa.automation.dto.JenkinsTestCaseSummary;
 import com.qa.automation.model.JenkinsTestCase;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface JenkinsTestCaseRepository extends JpaRepository<JenkinsTestCase, Long> {
@@ -11,4 +22,30 @@ public interface JenkinsTestCaseRepository extends JpaRepository<JenkinsTestCase
     // Find test cases by Jenkins result ID
     List<JenkinsTestCase> findByJenkinsResultId(Long jenkinsResultId);
 
-}
\ No newline at end of file
+    // Column-only projection for list responses; skips the parent result and its testers/project
+    List<JenkinsTestCaseSummary> findSummariesByJenkinsResultIdOrderByIdAsc(Long jenkinsResultId);
+
+    List<JenkinsTestCaseSummary> findSummariesByJenkinsResultIdAndIdGreaterThanOrderByIdAsc(Long jenkinsResultId, Long afterId,
+                                                                                           Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<JenkinsTestCaseSummary> streamSummariesByJenkinsResultIdOrderByIdAsc(Long jenkinsResultId);
+
+    // Remove all test cases of a result in one statement instead of loading and deleting them one by one
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM JenkinsTestCase jtc WHERE jtc.jenkinsResult.id = :jenkinsResultId")
+    int deleteByJenkinsResultId(@Param("jenkinsResultId") Long jenkinsResultId);
+
+    // Remove a result's test cases of the given classes, so one uploaded report replaces only its own rows
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM JenkinsTestCase jtc WHERE jtc.jenkinsResult.id = :jenkinsResultId AND jtc.className IN :classNames")
+    int deleteByJenkinsResultIdAndClassNameIn(@Param("jenkinsResultId") Long jenkinsResultId,
+                                              @Param("classNames") Collection<String> classNames);
+
+    // [status, count] rows for a result's test cases
+    @Query("SELECT jtc.status, COUNT(jtc) FROM JenkinsTestCase jtc WHERE jtc.jenkinsResult.id = :jenkinsResultId GROUP BY jtc.status")
+    List<Object[]> countByStatusForResult(@Param("jenkinsResultId") Long jenkinsResultId);
+
+}
@@ -1,8 +1,10 @@
 package com.qa.automation.repository;
 
 import com.qa.automation.model.JiraIssue;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,9 +16,24 @@ public interface JiraIssueRepository extends JpaRepository<JiraIssue, Long> {
     // Find by Jira key (unique identifier)
     Optional<JiraIssue> findByJiraKey(String jiraKey);
 
+    List<JiraIssue> findByJiraKeyIn(Collection<String> jiraKeys);
+
+    // Existing issues for a sync batch with their linked test cases (and those test cases' project/tester) in one query
+    @Query("SELECT DISTINCT ji FROM JiraIssue ji LEFT JOIN FETCH ji.linkedTestCases tc " +
+            "LEFT JOIN FETCH tc.project LEFT JOIN FETCH tc.assignedTester WHERE ji.jiraKey IN :jiraKeys")
+    List<JiraIssue> findByJiraKeyInWithLinkedTestCases(@Param("jiraKeys") Collection<String> jiraKeys);
+
     // Find issues by sprint with linked test cases
     @Query("SELECT DISTINCT ji FROM JiraIssue ji LEFT JOIN FETCH ji.linkedTestCases WHERE ji.sprintId = :sprintId")
     List<JiraIssue> findBySprintIdWithLinkedTestCases(@Param("sprintId") String sprintId);
 
+    // Keyset page of a sprint's issue ids; the issues are then loaded with their test cases by id, since
+    // limiting a collection fetch join would page in memory
+    @Query("SELECT ji.id FROM JiraIssue ji WHERE ji.sprintId = :sprintId AND ji.id > :afterId ORDER BY ji.id")
+    List<Long> findIdPageBySprintId(@Param("sprintId") String sprintId, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT DISTINCT ji FROM JiraIssue ji LEFT JOIN FETCH ji.linkedTestCases tc " +
+            "LEFT JOIN FETCH tc.project LEFT JOIN FETCH tc.assignedTester WHERE ji.id IN :ids ORDER BY ji.id")
+    List<JiraIssue> findByIdInWithLinkedTestCases(@Param("ids") Collection<Long> ids);
 
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.qa.automation.repository;
 
 import com.qa.automation.model.Project;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,14 +13,27 @@ import java.util.Optional;
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
 
+    // Projects are serialized with their domain and cached detached, so the LAZY domain is loaded up front
+    @EntityGraph(attributePaths = "domain")
+    @Override
+    Optional<Project> findById(Long id);
+
+    @EntityGraph(attributePaths = "domain")
+    @Override
+    List<Project> findAll();
+
+    @EntityGraph(attributePaths = "domain")
     Optional<Project> findByName(String name);
 
     long countByStatus(String status);
 
+    @EntityGraph(attributePaths = "domain")
     List<Project> findByDomainId(Long domainId);
 
+    @EntityGraph(attributePaths = "domain")
     List<Project> findByDomainIdAndStatus(Long domainId, String status);
 
+    @EntityGraph(attributePaths = "domain")
     List<Project> findByStatus(String status);
 
     @Query("SELECT COUNT(p) FROM Project p WHERE p.domain.id = :domainId")
@@ -27,4 +41,8 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
 
     @Query("SELECT COUNT(p) FROM Project p WHERE p.domain.id = :domainId AND p.status = :status")
     long countByDomainIdAndStatus(@Param("domainId") Long domainId, @Param("status") String status);
+
+    @Query("SELECT p FROM Project p JOIN FETCH p.domain WHERE p.id IN " +
+            "(SELECT jr.project.id FROM JenkinsResult jr) ORDER BY LOWER(p.name)")
+    List<Project> findProjectsWithJenkinsResults();
 }
\ No newline at end of file
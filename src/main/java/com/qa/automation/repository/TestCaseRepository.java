@@ -1,33 +1,51 @@
 package com.qa.automation.repository;
 
 import com.qa.automation.model.TestCase;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TestCaseRepository extends JpaRepository<TestCase, Long> {
 
+    // List finders load project and tester in the same select; both associations are LAZY
+    @EntityGraph(attributePaths = {"project", "tester"})
+    @Override
+    List<TestCase> findAll();
+
     // Basic finder methods using relationships
+    @EntityGraph(attributePaths = {"project", "tester"})
     @Query("SELECT tc FROM TestCase tc WHERE tc.project.id = :projectId")
     List<TestCase> findByProjectId(@Param("projectId") Long projectId);
 
+    @EntityGraph(attributePaths = {"project", "tester"})
     List<TestCase> findByStatus(String status);
 
+    @EntityGraph(attributePaths = {"project", "tester"})
     List<TestCase> findByPriority(String priority);
 
+    @EntityGraph(attributePaths = {"project", "tester"})
     @Query("SELECT tc FROM TestCase tc WHERE tc.tester.id = :testerId")
     List<TestCase> findByTesterId(@Param("testerId") Long testerId);
 
+    @EntityGraph(attributePaths = {"project", "tester"})
     @Query("SELECT tc FROM TestCase tc WHERE tc.project.id = :projectId AND tc.status = :status")
     List<TestCase> findByProjectIdAndStatus(@Param("projectId") Long projectId, @Param("status") String status);
 
+    @EntityGraph(attributePaths = {"project", "tester"})
     @Query("SELECT tc FROM TestCase tc WHERE tc.project.domain.id = :domainId")
     List<TestCase> findByDomainId(@Param("domainId") Long domainId);
 
+    @EntityGraph(attributePaths = {"project", "tester"})
     @Query("SELECT tc FROM TestCase tc WHERE tc.project.domain.id = :domainId AND tc.status = :status")
     List<TestCase> findByDomainIdAndStatus(@Param("domainId") Long domainId, @Param("status") String status);
 
@@ -57,9 +75,22 @@ public interface TestCaseRepository extends JpaRepository<TestCase, Long> {
     List<Object[]> getTestCaseStatsByPriority();
 
     // Search methods
+    @EntityGraph(attributePaths = {"project", "tester"})
     @Query("SELECT tc FROM TestCase tc WHERE tc.title LIKE %:keyword% OR tc.description LIKE %:keyword%")
     List<TestCase> searchByKeyword(@Param("keyword") String keyword);
 
+    @EntityGraph(attributePaths = {"project", "tester"})
     @Query("SELECT tc FROM TestCase tc WHERE tc.project.domain.id = :domainId AND (tc.title LIKE %:keyword% OR tc.description LIKE %:keyword%)")
     List<TestCase> searchByKeywordInDomain(@Param("domainId") Long domainId, @Param("keyword") String keyword);
-}
\ No newline at end of file
+
+    // Keyset page of all test cases ordered by id
+    @EntityGraph(attributePaths = {"project", "tester"})
+    @Query("SELECT tc FROM TestCase tc WHERE tc.id > :afterId ORDER BY tc.id")
+    List<TestCase> findPageAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    // All test cases for NDJSON export; the fetch size lets the driver stream rows instead of buffering them
+    @EntityGraph(attributePaths = {"project", "tester"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT tc FROM TestCase tc ORDER BY tc.id")
+    Stream<TestCase> streamAll();
+}
@@ -1,12 +1,18 @@
 package com.qa.automation.repository;
 
 import com.qa.automation.model.Tester;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TesterRepository extends JpaRepository<Tester, Long> {
@@ -25,4 +31,15 @@ public interface TesterRepository extends JpaRepository<Tester, Long> {
     long countByRole(String role);
 
     long countByGender(String gender);
-}
\ No newline at end of file
+
+    @Query("SELECT t FROM Tester t WHERE t.id IN " +
+            "(SELECT jr.automationTester.id FROM JenkinsResult jr) ORDER BY LOWER(t.name)")
+    List<Tester> findAutomationTestersWithJenkinsResults();
+
+    @Query("SELECT t FROM Tester t WHERE t.id > :afterId ORDER BY t.id")
+    List<Tester> findPageAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT t FROM Tester t ORDER BY t.id")
+    Stream<Tester> streamAll();
+}
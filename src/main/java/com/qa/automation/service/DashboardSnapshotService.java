@@ -0,0 +1,320 @@
+package com.qa.automation.service;
+
+import com.qa.automation.dto.DashboardOverview;
+import com.qa.automation.dto.DashboardOverview.DomainOverview;
+import com.qa.automation.dto.DashboardOverview.ProjectOverview;
+import com.qa.automation.dto.StatusCountRow;
+import com.qa.automation.model.TestCase;
+import com.qa.automation.repository.DomainRepository;
+import com.qa.automation.repository.TesterRepository;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-memory snapshot of the dashboard aggregates, keyed by domain/project/status. Test case counts are
+ * kept current by TestCaseService on every create/update/delete; the whole snapshot is rebuilt with one
+ * domain/project/status GROUP BY query once it is older than dashboard.snapshot.max-staleness-seconds,
+ * which also picks up domain/project/tester changes and writes made outside this instance.
+ */
+@Service
+public class DashboardSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardSnapshotService.class);
+
+    private static final String ACTIVE = "Active";
+
+    @Autowired
+    private DomainRepository domainRepository;
+
+    @Autowired
+    private TesterRepository testerRepository;
+
+    @Value("${dashboard.snapshot.max-staleness-seconds:60}")
+    private long maxStalenessSeconds;
+
+    // Guards the snapshot; rebuilds happen under it too, so concurrent readers trigger a single rebuild
+    private final Object snapshotLock = new Object();
+    private Snapshot snapshot;
+
+    public Map<String, Object> getDashboardStats() {
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (snapshotLock) {
+            Snapshot current = currentSnapshot();
+
+            // Basic counts
+            stats.put("totalDomains", sum(current.domainCountsByStatus));
+            stats.put("totalProjects", current.projectCountsByDomain.values().stream().mapToLong(DashboardSnapshotService::sum).sum());
+            stats.put("totalTestCases", sum(current.testCaseCounts));
+            stats.put("totalTesters", current.testerCount);
+
+            // Active counts
+            stats.put("activeDomains", current.domainCountsByStatus.getOrDefault(ACTIVE, 0L));
+            stats.put("activeProjects", current.projectCountsByDomain.values().stream()
+                    .mapToLong(byStatus -> byStatus.getOrDefault(ACTIVE, 0L)).sum());
+
+            // Test case status counts
+            putStatusCounts(stats, current, slice -> true);
+        }
+        return stats;
+    }
+
+    public Map<String, Object> getDomainStats(Long domainId) {
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (snapshotLock) {
+            Snapshot current = currentSnapshot();
+            Map<String, Long> projectCounts = current.projectCountsByDomain.getOrDefault(domainId, Map.of());
+
+            // Projects in domain
+            stats.put("totalProjects", sum(projectCounts));
+            stats.put("activeProjects", projectCounts.getOrDefault(ACTIVE, 0L));
+
+            // Test cases in domain
+            stats.put("totalTestCases", sum(current.testCaseCounts, slice -> Objects.equals(slice.domainId, domainId)));
+            putStatusCounts(stats, current, slice -> Objects.equals(slice.domainId, domainId));
+        }
+        return stats;
+    }
+
+    public Map<String, Object> getProjectStats(Long projectId) {
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (snapshotLock) {
+            Snapshot current = currentSnapshot();
+
+            // Test cases in project
+            stats.put("totalTestCases", sum(current.testCaseCounts, slice -> Objects.equals(slice.projectId, projectId)));
+            putStatusCounts(stats, current, slice -> Objects.equals(slice.projectId, projectId));
+        }
+        return stats;
+    }
+
+    /**
+     * Status breakdown of every domain and project, plus overall totals, from the snapshot
+     */
+    public DashboardOverview getOverview() {
+        DashboardOverview overview = new DashboardOverview();
+        synchronized (snapshotLock) {
+            Snapshot current = currentSnapshot();
+
+            Map<Long, DomainOverview> domainsById = new LinkedHashMap<>();
+            for (DomainOverview domain : current.domains.values()) {
+                domainsById.put(domain.getId(), new DomainOverview(domain.getId(), domain.getName(), domain.getStatus()));
+            }
+            Map<Long, ProjectOverview> projectsById = new HashMap<>();
+            for (Map.Entry<Long, ProjectOverview> entry : current.projects.entrySet()) {
+                ProjectOverview project = entry.getValue();
+                ProjectOverview copy = new ProjectOverview(project.getId(), project.getName(), project.getStatus());
+                projectsById.put(copy.getId(), copy);
+                DomainOverview domain = domainsById.get(current.domainIdByProject.get(entry.getKey()));
+                if (domain != null) {
+                    domain.getProjects().add(copy);
+                    domain.getStats().setTotalProjects(domain.getStats().getTotalProjects() + 1);
+                }
+            }
+
+            for (Map.Entry<TestCaseSlice, Long> entry : current.testCaseCounts.entrySet()) {
+                TestCaseSlice slice = entry.getKey();
+                long count = entry.getValue();
+                overview.getTotals().addTestCases(slice.status, count);
+                DomainOverview domain = domainsById.get(slice.domainId);
+                if (domain != null) {
+                    domain.getStats().addTestCases(slice.status, count);
+                }
+                ProjectOverview project = projectsById.get(slice.projectId);
+                if (project != null) {
+                    project.getStats().addTestCases(slice.status, count);
+                }
+            }
+
+            for (DomainOverview domain : domainsById.values()) {
+                domain.getProjects().sort(Comparator.comparing(ProjectOverview::getName, Comparator.nullsLast(String::compareTo)));
+                overview.getDomains().add(domain);
+            }
+            overview.getTotals().setTotalProjects(projectsById.size());
+            overview.getTotals().setTotalTesters(current.testerCount);
+        }
+        return overview;
+    }
+
+    public void testCaseCreated(TestCase testCase) {
+        adjust(TestCaseSlice.of(testCase), 1);
+    }
+
+    /**
+     * Move one test case from its previous slice (captured before the update was saved) to its new one
+     */
+    public void testCaseUpdated(TestCaseSlice before, TestCase after) {
+        TestCaseSlice afterSlice = TestCaseSlice.of(after);
+        if (!Objects.equals(afterSlice, before)) {
+            adjust(before, -1);
+            adjust(afterSlice, 1);
+        }
+    }
+
+    public void testCaseDeleted(TestCaseSlice before) {
+        adjust(before, -1);
+    }
+
+    private void adjust(TestCaseSlice slice, long delta) {
+        if (slice == null) {
+            return;
+        }
+        // Rolled-back writes must not move the counts, so inside a transaction the delta waits for the commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyCommitted(slice, delta);
+                }
+            });
+        }
+        else {
+            applyCommitted(slice, delta);
+        }
+    }
+
+    private void applyCommitted(TestCaseSlice slice, long delta) {
+        // Stamped before taking the lock: a rebuild that started after this commit already counted the row
+        long committedAtNanos = System.nanoTime();
+        synchronized (snapshotLock) {
+            // Without a snapshot the next rebuild counts the row anyway
+            if (snapshot != null && committedAtNanos >= snapshot.queryStartedAtNanos) {
+                snapshot.testCaseCounts.merge(slice, delta, Long::sum);
+            }
+        }
+    }
+
+    // Caller must hold snapshotLock
+    private Snapshot currentSnapshot() {
+        if (snapshot == null || snapshot.isOlderThan(maxStalenessSeconds)) {
+            snapshot = rebuild();
+        }
+        return snapshot;
+    }
+
+    private Snapshot rebuild() {
+        long start = System.currentTimeMillis();
+        Snapshot rebuilt = new Snapshot();
+        rebuilt.queryStartedAtNanos = System.nanoTime();
+
+        // Rows come ordered by domain and project name, so the overview keeps that order
+        for (StatusCountRow row : domainRepository.getStatusCountsByDomainAndProject()) {
+            if (!rebuilt.domains.containsKey(row.getDomainId())) {
+                rebuilt.domains.put(row.getDomainId(), new DomainOverview(row.getDomainId(), row.getDomainName(), row.getDomainStatus()));
+                rebuilt.domainCountsByStatus.merge(row.getDomainStatus(), 1L, Long::sum);
+            }
+            if (row.getProjectId() == null) {
+                continue;
+            }
+            if (!rebuilt.projects.containsKey(row.getProjectId())) {
+                rebuilt.projects.put(row.getProjectId(), new ProjectOverview(row.getProjectId(), row.getProjectName(), row.getProjectStatus()));
+                rebuilt.domainIdByProject.put(row.getProjectId(), row.getDomainId());
+                rebuilt.projectCountsByDomain.computeIfAbsent(row.getDomainId(), id -> new HashMap<>())
+                        .merge(row.getProjectStatus(), 1L, Long::sum);
+            }
+            if (row.getCount() > 0) {
+                rebuilt.testCaseCounts.put(new TestCaseSlice(row.getDomainId(), row.getProjectId(), row.getTestCaseStatus()), row.getCount());
+            }
+        }
+        rebuilt.testerCount = testerRepository.count();
+
+        logger.debug("Rebuilt dashboard snapshot: {} domain/project/status slices in {} ms",
+                rebuilt.testCaseCounts.size(), System.currentTimeMillis() - start);
+        return rebuilt;
+    }
+
+    private void putStatusCounts(Map<String, Object> stats, Snapshot current, Predicate<TestCaseSlice> filter) {
+        stats.put("automatedTestCases", countByStatus(current, filter, "Automated"));
+        stats.put("inProgressTestCases", countByStatus(current, filter, "In Progress"));
+        stats.put("readyTestCases", countByStatus(current, filter, "Ready to Automate"));
+        stats.put("completedTestCases", countByStatus(current, filter, "Completed"));
+    }
+
+    private long countByStatus(Snapshot current, Predicate<TestCaseSlice> filter, String status) {
+        return sum(current.testCaseCounts, slice -> filter.test(slice) && status.equals(slice.status));
+    }
+
+    private static long sum(Map<?, Long> counts) {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private static long sum(Map<TestCaseSlice, Long> counts, Predicate<TestCaseSlice> filter) {
+        long total = 0;
+        for (Map.Entry<TestCaseSlice, Long> entry : counts.entrySet()) {
+            if (filter.test(entry.getKey())) {
+                total += entry.getValue();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Domain/project/status a test case is counted under
+     */
+    public static final class TestCaseSlice {
+        private final Long domainId;
+        private final Long projectId;
+        private final String status;
+
+        public TestCaseSlice(Long domainId, Long projectId, String status) {
+            this.domainId = domainId;
+            this.projectId = projectId;
+            this.status = status;
+        }
+
+        public static TestCaseSlice of(TestCase testCase) {
+            if (testCase == null || testCase.getProject() == null) {
+                return null;
+            }
+            Long domainId = testCase.getProject().getDomain() != null ? testCase.getProject().getDomain().getId() : null;
+            return new TestCaseSlice(domainId, testCase.getProject().getId(), testCase.getStatus());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TestCaseSlice)) {
+                return false;
+            }
+            TestCaseSlice other = (TestCaseSlice) o;
+            return Objects.equals(domainId, other.domainId)
+                    && Objects.equals(projectId, other.projectId)
+                    && Objects.equals(status, other.status);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(domainId, projectId, status);
+        }
+    }
+
+    private static class Snapshot {
+        final Map<TestCaseSlice, Long> testCaseCounts = new HashMap<>();
+        final Map<Long, Map<String, Long>> projectCountsByDomain = new HashMap<>();
+        final Map<String, Long> domainCountsByStatus = new HashMap<>();
+        // Names and statuses for the overview; the counts inside are not used
+        final Map<Long, DomainOverview> domains = new LinkedHashMap<>();
+        final Map<Long, ProjectOverview> projects = new LinkedHashMap<>();
+        final Map<Long, Long> domainIdByProject = new HashMap<>();
+        final long builtAtMillis = System.currentTimeMillis();
+        // Writes committed before this are already in the counts; their deltas are dropped
+        long queryStartedAtNanos;
+        long testerCount;
+
+        boolean isOlderThan(long seconds) {
+            return System.currentTimeMillis() - builtAtMillis > seconds * 1000;
+        }
+    }
+}
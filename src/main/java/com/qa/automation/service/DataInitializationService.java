@@ -1,5 +1,6 @@
 package com.qa.automation.service;
 
+import com.qa.automation.config.CacheConfig;
 import com.qa.automation.model.Domain;
 import com.qa.automation.model.Project;
 import com.qa.automation.model.Tester;
@@ -9,6 +10,7 @@ import com.qa.automation.repository.TesterRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 
 import org.springframework.stereotype.Service;
 
@@ -94,6 +96,7 @@ public class DataInitializationService {
     /**
      * Get default project for fallback scenarios
      */
+    @Cacheable(cacheNames = CacheConfig.PROJECTS_CACHE, key = "'default'")
     public Project getDefaultProject() {
         return projectRepository.findByName("Default Project")
                 .orElseThrow(() -> new RuntimeException("Default project not found"));
@@ -110,6 +113,7 @@ public class DataInitializationService {
     /**
      * Get default tester for fallback scenarios
      */
+    @Cacheable(cacheNames = CacheConfig.TESTERS_CACHE, key = "'default'")
     public Tester getDefaultTester() {
         return testerRepository.findByName("Unassigned")
                 .orElseThrow(() -> new RuntimeException("Default tester not found"));
@@ -1,8 +1,10 @@
 package com.qa.automation.service;
 
+import com.qa.automation.config.CacheConfig;
 import com.qa.automation.model.Domain;
 import com.qa.automation.repository.DomainRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -35,6 +37,8 @@ public class DomainService {
     }
 
 
+    // Cached projects carry their domain, so domain changes invalidate them
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS_CACHE, allEntries = true)
     public Domain updateDomain(Long id, Domain domain) {
         if (domainRepository.existsById(id)) {
             // Check if new name conflicts with existing domain (excluding current one)
@@ -48,6 +52,7 @@ public class DomainService {
         return null;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS_CACHE, allEntries = true)
     public boolean deleteDomain(Long id) {
         if (domainRepository.existsById(id)) {
             domainRepository.deleteById(id);
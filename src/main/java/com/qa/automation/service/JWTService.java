@@ -1,6 +1,7 @@
 package com.qa.automation.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -22,6 +23,10 @@ public class JWTService {
 
     private String secretkey = "";
 
+    // Key and parser are built once from the secret instead of on every sign/parse call
+    private final SecretKey key;
+    private final JwtParser parser;
+
     @Value("${token.refresh.time}")
     private int tokenRefreshTime = 60 * 60 * 30;
 
@@ -35,6 +40,8 @@ public class JWTService {
         catch (NoSuchAlgorithmException e) {
             throw new RuntimeException(e);
         }
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretkey));
+        parser = Jwts.parser().verifyWith(key).build();
     }
 
     public String generateToken(String username) {
@@ -51,8 +58,15 @@ public class JWTService {
     }
 
     private SecretKey getKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretkey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return key;
+    }
+
+    /**
+     * Verify the signature and expiry once and return the claims; throws ExpiredJwtException or
+     * JwtException when the token is not valid
+     */
+    public Claims parseToken(String token) {
+        return extractAllClaims(token);
     }
 
     public String extractUserName(String token) {
@@ -66,24 +80,24 @@ public class JWTService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public boolean validateToken(String token, UserDetails userDetails) {
-        final String userName = extractUserName(token);
-        return (userName.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return validateClaims(extractAllClaims(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Check already verified claims against the user, without parsing the token again
+     */
+    public boolean validateClaims(Claims claims, UserDetails userDetails) {
+        return claims.getSubject() != null
+                && claims.getSubject().equals(userDetails.getUsername())
+                && !isTokenExpired(claims);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration() != null && claims.getExpiration().before(new Date());
     }
 
 }
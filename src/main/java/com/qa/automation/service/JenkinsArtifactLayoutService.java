@@ -0,0 +1,107 @@
+package com.qa.automation.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.qa.automation.model.JenkinsArtifactLayout;
+import com.qa.automation.repository.JenkinsArtifactLayoutRepository;
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+/**
+ * Learned per-job test result layouts plus an in-memory negative cache of strategies that recently found
+ * nothing for a job. A layout older than jenkins.artifact-layout.max-age-hours is ignored, so the next sync
+ * runs full discovery and learns it again.
+ */
+@Service
+public class JenkinsArtifactLayoutService {
+
+    // Negative-cache key for the stored layout itself, separate from the discovery sources
+    private static final String LEARNED_LAYOUT = "LEARNED_LAYOUT";
+
+    @Autowired
+    private JenkinsArtifactLayoutRepository jenkinsArtifactLayoutRepository;
+
+    @Value("${jenkins.artifact-layout.max-age-hours:24}")
+    private long maxAgeHours;
+
+    @Value("${jenkins.artifact-layout.negative-ttl-minutes:60}")
+    private long negativeTtlMinutes;
+
+    // "job|strategy" of strategies that recently failed for that job
+    private Cache<String, Boolean> failedStrategies;
+
+    @PostConstruct
+    void initNegativeCache() {
+        failedStrategies = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(negativeTtlMinutes, TimeUnit.MINUTES)
+                .build();
+    }
+
+    /**
+     * The layout to try first for this job, if one was learned recently enough and has not just failed
+     */
+    public Optional<JenkinsArtifactLayout> findUsableLayout(String jobName) {
+        return jenkinsArtifactLayoutRepository.findByJobName(jobName)
+                .filter(layout -> layout.getLearnedAt() == null
+                        || layout.getLearnedAt().isAfter(LocalDateTime.now().minusHours(maxAgeHours)))
+                .filter(layout -> !hasRecentlyFailed(jobName, LEARNED_LAYOUT));
+    }
+
+    /**
+     * Record the strategy (and paths) that just produced test cases for a job
+     */
+    public void learn(String jobName, String buildNumber, String strategy, List<String> artifactPaths) {
+        failedStrategies.invalidate(key(jobName, strategy));
+        failedStrategies.invalidate(key(jobName, LEARNED_LAYOUT));
+        try {
+            saveLayout(jobName, buildNumber, strategy, artifactPaths);
+        }
+        catch (DataIntegrityViolationException e) {
+            // A concurrent sync of the same job inserted the row first; update that row instead
+            saveLayout(jobName, buildNumber, strategy, artifactPaths);
+        }
+        System.out.println("Learned " + strategy + " layout for job " + jobName +
+                (artifactPaths == null || artifactPaths.isEmpty() ? "" : " (" + artifactPaths.size() + " paths)"));
+    }
+
+    private void saveLayout(String jobName, String buildNumber, String strategy, List<String> artifactPaths) {
+        JenkinsArtifactLayout layout = jenkinsArtifactLayoutRepository.findByJobName(jobName)
+                .orElse(new JenkinsArtifactLayout(jobName));
+        layout.setStrategy(strategy);
+        layout.setArtifactPathList(artifactPaths);
+        layout.setLearnedFromBuild(buildNumber);
+        // Set explicitly so relearning an unchanged layout still renews it
+        layout.setLearnedAt(LocalDateTime.now());
+        jenkinsArtifactLayoutRepository.save(layout);
+    }
+
+    /**
+     * The learned layout found nothing; full discovery runs until the negative entry expires or a new layout is learned
+     */
+    public void markLayoutFailed(String jobName) {
+        markFailed(jobName, LEARNED_LAYOUT);
+    }
+
+    /**
+     * A discovery source found nothing for this job; it is skipped until the negative entry expires
+     */
+    public void markFailed(String jobName, String strategy) {
+        failedStrategies.put(key(jobName, strategy), Boolean.TRUE);
+    }
+
+    public boolean hasRecentlyFailed(String jobName, String strategy) {
+        return failedStrategies.getIfPresent(key(jobName, strategy)) != null;
+    }
+
+    private static String key(String jobName, String strategy) {
+        return jobName + "|" + strategy;
+    }
+}
@@ -0,0 +1,257 @@
+package com.qa.automation.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Console-log fallback for builds without a test report or TestNG XML. The log is read through
+ * logText/progressiveText as a byte stream, one line at a time, and matched with precompiled patterns;
+ * reading stops at the TestNG/Surefire summary. The byte offset and the tests found so far are cached
+ * per build, so a rerun for a finished build makes no request and a rerun for a running build only
+ * reads what was appended since.
+ */
+@Service
+public class JenkinsConsoleLogParser {
+
+    private static final Pattern TEST_NAME = Pattern.compile("testcases\\.\\S*");
+    private static final Pattern TEST_STATUS = Pattern.compile("PASSED|FAILED|SKIPPED");
+    // TestNG's own reporter: "Total tests run: 12, Passes: 10, Failures: 2, Skips: 0"
+    private static final Pattern TESTNG_SUMMARY = Pattern.compile("Total tests run:\\s*\\d+");
+    // Surefire/Failsafe: "[INFO] Results:" followed by "Tests run: 12, Failures: 2, Errors: 0, Skipped: 0"
+    private static final Pattern RESULTS_HEADER = Pattern.compile("\\bResults\\s*:\\s*$");
+    private static final Pattern TESTS_RUN = Pattern.compile("Tests run:\\s*\\d+");
+
+    private static final String MORE_DATA_HEADER = "X-More-Data";
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+    // Longer lines are truncated for matching but still counted towards the offset
+    private static final int MAX_LINE_BYTES = 64 * 1024;
+
+    @Autowired
+    private RestTemplate restTemplate;
+    @Value("${jenkins.url:}")
+    private String jenkinsUrl;
+    @Value("${jenkins.username:}")
+    private String jenkinsUsername;
+    @Value("${jenkins.token:}")
+    private String jenkinsToken;
+    @Value("${jenkins.console.cache.max-builds:500}")
+    private long maxCachedBuilds;
+    @Value("${jenkins.console.cache.expire-minutes:360}")
+    private long cacheExpireMinutes;
+
+    private Cache<String, BuildLogState> buildStates;
+
+    @PostConstruct
+    void initCache() {
+        buildStates = Caffeine.newBuilder()
+                .maximumSize(maxCachedBuilds)
+                .expireAfterAccess(cacheExpireMinutes, TimeUnit.MINUTES)
+                .build();
+    }
+
+    /**
+     * Test results printed in the build's console log, in log order
+     */
+    public List<ConsoleTestResult> parse(String jobName, String buildNumber) {
+        BuildLogState state = buildStates.get(jobName + "#" + buildNumber, key -> new BuildLogState());
+        synchronized (state) {
+            if (!state.complete) {
+                try {
+                    readFrom(jobName, buildNumber, state);
+                }
+                catch (Exception e) {
+                    System.err.println("Error parsing console log: " + e.getMessage());
+                }
+            }
+            return new ArrayList<>(state.results);
+        }
+    }
+
+    private void readFrom(String jobName, String buildNumber, BuildLogState state) {
+        String url = jenkinsUrl + "/job/" + jobName + "/" + buildNumber + "/logText/progressiveText?start=" + state.offset;
+        long startOffset = state.offset;
+
+        restTemplate.execute(url, HttpMethod.GET,
+                request -> request.getHeaders().putAll(createAuthHeaders()),
+                response -> {
+                    // X-More-Data is only sent while the build is still writing its log
+                    boolean moreData = Boolean.parseBoolean(response.getHeaders().getFirst(MORE_DATA_HEADER));
+                    try (InputStream body = response.getBody()) {
+                        boolean summarySeen = scan(body, state, !moreData);
+                        state.complete = summarySeen || !moreData;
+                    }
+                    return null;
+                });
+
+        System.out.println("Console log for " + jobName + " #" + buildNumber + ": read " +
+                (state.offset - startOffset) + " bytes from offset " + startOffset + ", " +
+                state.results.size() + " test cases" + (state.complete ? "" : " (build still running)"));
+    }
+
+    /**
+     * Consume lines until the summary is seen; returns true when it was. Unless this is the end of the log,
+     * a trailing partial line is left unconsumed so the next read starts at its first byte.
+     */
+    private boolean scan(InputStream body, BuildLogState state, boolean endOfLog) throws IOException {
+        byte[] buffer = new byte[READ_BUFFER_BYTES];
+        byte[] line = new byte[8 * 1024];
+        int length = 0;
+        long lineBytes = 0;
+        int read;
+        while ((read = body.read(buffer)) != -1) {
+            int lineStart = 0;
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] != '\n') {
+                    continue;
+                }
+                line = append(line, length, buffer, lineStart, i - lineStart);
+                length = Math.min(MAX_LINE_BYTES, length + i - lineStart);
+                state.offset += lineBytes + (i - lineStart) + 1;
+                lineBytes = 0;
+                lineStart = i + 1;
+
+                String text = decode(line, length);
+                length = 0;
+                if (matchLine(text, state)) {
+                    return true;
+                }
+            }
+            line = append(line, length, buffer, lineStart, read - lineStart);
+            length = Math.min(MAX_LINE_BYTES, length + read - lineStart);
+            lineBytes += read - lineStart;
+        }
+
+        if (endOfLog && lineBytes > 0) {
+            state.offset += lineBytes;
+            return matchLine(decode(line, length), state);
+        }
+        return false;
+    }
+
+    // Append up to MAX_LINE_BYTES of the current line, growing the line buffer as needed
+    private static byte[] append(byte[] line, int length, byte[] source, int from, int count) {
+        int copy = Math.min(count, MAX_LINE_BYTES - length);
+        if (copy <= 0) {
+            return line;
+        }
+        if (length + copy > line.length) {
+            byte[] grown = new byte[Math.min(MAX_LINE_BYTES, Math.max(line.length * 2, length + copy))];
+            System.arraycopy(line, 0, grown, 0, length);
+            line = grown;
+        }
+        System.arraycopy(source, from, line, length, copy);
+        return line;
+    }
+
+    private static String decode(byte[] line, int length) {
+        int end = length > 0 && line[length - 1] == '\r' ? length - 1 : length;
+        return new String(line, 0, end, StandardCharsets.UTF_8);
+    }
+
+    // Returns true once the run summary has been reached
+    private boolean matchLine(String line, BuildLogState state) {
+        if (TESTNG_SUMMARY.matcher(line).find()) {
+            return true;
+        }
+        if (state.resultsHeaderSeen && TESTS_RUN.matcher(line).find()) {
+            return true;
+        }
+        if (RESULTS_HEADER.matcher(line).find()) {
+            state.resultsHeaderSeen = true;
+            return false;
+        }
+
+        Matcher name = TEST_NAME.matcher(line);
+        if (!name.find()) {
+            return false;
+        }
+        String status = statusOf(line);
+        if (status == null) {
+            return false;
+        }
+
+        String fullTestName = name.group();
+        int lastDot = fullTestName.lastIndexOf('.');
+        state.results.add(new ConsoleTestResult(fullTestName.substring(0, lastDot),
+                fullTestName.substring(lastDot + 1), status));
+        return false;
+    }
+
+    // PASSED wins over FAILED over SKIPPED when a line mentions several
+    private static String statusOf(String line) {
+        Matcher matcher = TEST_STATUS.matcher(line);
+        String status = null;
+        while (matcher.find()) {
+            String found = matcher.group();
+            if ("PASSED".equals(found)) {
+                return found;
+            }
+            if (status == null || "FAILED".equals(found)) {
+                status = found;
+            }
+        }
+        return status;
+    }
+
+    private HttpHeaders createAuthHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        if (jenkinsUsername != null && !jenkinsUsername.isEmpty() &&
+                jenkinsToken != null && !jenkinsToken.isEmpty()) {
+            String auth = jenkinsUsername + ":" + jenkinsToken;
+            String encodedAuth = Base64.getEncoder().encodeToString(auth.getBytes());
+            headers.set("Authorization", "Basic " + encodedAuth);
+        }
+        return headers;
+    }
+
+    /**
+     * One test line from the console log
+     */
+    public static final class ConsoleTestResult {
+        private final String className;
+        private final String testName;
+        private final String status;
+
+        public ConsoleTestResult(String className, String testName, String status) {
+            this.className = className;
+            this.testName = testName;
+            this.status = status;
+        }
+
+        public String getClassName() {
+            return className;
+        }
+
+        public String getTestName() {
+            return testName;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+    }
+
+    // Guarded by its own monitor
+    private static final class BuildLogState {
+        private final List<ConsoleTestResult> results = new ArrayList<>();
+        private long offset;
+        private boolean resultsHeaderSeen;
+        private boolean complete;
+    }
+}
@@ -2,44 +2,105 @@ package com.qa.automation.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qa.automation.dto.JenkinsLatestBuildStats;
+import com.qa.automation.dto.JenkinsResultPage;
+import com.qa.automation.dto.JenkinsTestCaseSummary;
+import com.qa.automation.dto.KeysetPage;
+import com.qa.automation.model.JenkinsArtifactLayout;
+import com.qa.automation.model.JenkinsJobWatermark;
 import com.qa.automation.model.JenkinsResult;
 import com.qa.automation.model.JenkinsTestCase;
+import com.qa.automation.model.SyncJob;
+import com.qa.automation.repository.JenkinsJobWatermarkRepository;
 import com.qa.automation.repository.JenkinsResultRepository;
+import com.qa.automation.repository.JenkinsResultSpecifications;
+import com.qa.automation.repository.JenkinsResultSpecifications.SortField;
+import com.qa.automation.repository.JenkinsTestCaseBatchWriter;
 import com.qa.automation.repository.JenkinsTestCaseRepository;
+import com.qa.automation.service.JenkinsConsoleLogParser.ConsoleTestResult;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.client.RestTemplate;
 
 @Service
 public class JenkinsService {
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Autowired
+    private RestTemplate restTemplate;
     private final ObjectMapper objectMapper = new ObjectMapper();
     @Autowired
     private JenkinsResultRepository jenkinsResultRepository;
     @Autowired
     private JenkinsTestCaseRepository jenkinsTestCaseRepository;
     @Autowired
+    private JenkinsJobWatermarkRepository jenkinsJobWatermarkRepository;
+    @Autowired
+    private JenkinsTestCaseBatchWriter jenkinsTestCaseBatchWriter;
+    @Autowired
     private TestNGXMLParserService testNGXMLParserService;
+    @Autowired
+    private NdjsonExportService ndjsonExportService;
+    @Autowired
+    private JenkinsConsoleLogParser jenkinsConsoleLogParser;
+    @Autowired
+    private JenkinsArtifactLayoutService jenkinsArtifactLayoutService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
     @Value("${jenkins.url:}")
     private String jenkinsUrl;
     @Value("${jenkins.username:}")
     private String jenkinsUsername;
     @Value("${jenkins.token:}")
     private String jenkinsToken;
+    @Autowired
+    private ThreadPoolTaskExecutor jenkinsSyncExecutor;
+    @Value("${jenkins.sync.max-concurrent-per-host:4}")
+    private int maxConcurrentPerHost;
+    @Value("${jenkins.results.max-page-size:500}")
+    private int maxResultsPageSize;
+    @Value("${jenkins.persistence.batch-size:1000}")
+    private int backfillBatchSize;
+
+    // One permit pool per Jenkins host so parallel syncs don't overload a single controller
+    private final Map<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+    // Striped monitors serializing writes to one build's result and test cases across polling and ingestion
+    private final Object[] buildLocks = Stream.generate(Object::new).limit(64).toArray();
 
     public List<JenkinsResult> getAllLatestResults() {
         try {
@@ -51,6 +112,69 @@ public class JenkinsService {
         }
     }
 
+    /**
+     * Latest result per job, filtered and sorted in the database. With a size only that many rows are
+     * loaded and the page carries a cursor for the next one; without a size all matching rows are returned.
+     * Throws IllegalArgumentException for an unknown sortBy or a malformed cursor.
+     */
+    public JenkinsResultPage getFilteredLatestResults(Long projectId, Long automationTesterId, String jobFrequency,
+                                                      String buildStatus, String sortBy, String direction,
+                                                      String cursor, Integer size) {
+        SortField sortField = SortField.fromParam(sortBy);
+        boolean ascending = !"desc".equalsIgnoreCase(direction);
+
+        Specification<JenkinsResult> spec = Specification.where(JenkinsResultSpecifications.latestPerJob())
+                .and(JenkinsResultSpecifications.hasProject(projectId))
+                .and(JenkinsResultSpecifications.hasAutomationTester(automationTesterId))
+                .and(JenkinsResultSpecifications.hasJobFrequency(jobFrequency))
+                .and(JenkinsResultSpecifications.hasBuildStatus(buildStatus))
+                .and(JenkinsResultSpecifications.keyset(sortField, ascending, cursor));
+
+        if (size == null) {
+            return new JenkinsResultPage(jenkinsResultRepository.findAll(spec), null);
+        }
+
+        int pageSize = Math.max(1, Math.min(size, maxResultsPageSize));
+        // One extra row tells whether another page exists
+        List<JenkinsResult> rows = jenkinsResultRepository.findBy(spec, query -> query.limit(pageSize + 1).all());
+        if (rows.size() <= pageSize) {
+            return new JenkinsResultPage(rows, null);
+        }
+        List<JenkinsResult> page = new ArrayList<>(rows.subList(0, pageSize));
+        return new JenkinsResultPage(page, JenkinsResultSpecifications.nextCursor(sortField, page.get(pageSize - 1)));
+    }
+
+    /**
+     * Fill in pass percentage and job frequency for rows stored before they were persisted at sync time
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillDerivedResultFields() {
+        try {
+            // One transaction per page, so a large legacy table is never loaded or written in one go
+            long backfilled = 0;
+            Long afterId = 0L;
+            while (true) {
+                List<JenkinsResult> results = jenkinsResultRepository.findMissingDerivedFieldsAfter(
+                        afterId, PageRequest.of(0, backfillBatchSize));
+                if (results.isEmpty()) {
+                    break;
+                }
+                for (JenkinsResult result : results) {
+                    result.updateDerivedFields();
+                }
+                jenkinsResultRepository.saveAll(results);
+                backfilled += results.size();
+                afterId = results.get(results.size() - 1).getId();
+            }
+            if (backfilled > 0) {
+                System.out.println("Backfilled pass percentage and job frequency for " + backfilled + " Jenkins results");
+            }
+        }
+        catch (Exception e) {
+            System.err.println("Error backfilling Jenkins result fields: " + e.getMessage());
+        }
+    }
+
     public JenkinsResult getLatestResultByJobName(String jobName) {
         try {
             List<JenkinsResult> results = jenkinsResultRepository.findLatestByJobName(jobName);
@@ -62,9 +186,9 @@ public class JenkinsService {
         }
     }
 
-    public List<JenkinsTestCase> getTestCasesByResultId(Long resultId) {
+    public List<JenkinsTestCaseSummary> getTestCasesByResultId(Long resultId) {
         try {
-            return jenkinsTestCaseRepository.findByJenkinsResultId(resultId);
+            return jenkinsTestCaseRepository.findSummariesByJenkinsResultIdOrderByIdAsc(resultId);
         }
         catch (Exception e) {
             System.err.println("Error getting test cases for result " + resultId + ": " + e.getMessage());
@@ -72,23 +196,39 @@ public class JenkinsService {
         }
     }
 
+    /**
+     * Keyset page of a result's test cases ordered by id, starting after the given id (null for the first page)
+     */
+    public KeysetPage<JenkinsTestCaseSummary> getTestCasesPageByResultId(Long resultId, Long afterId, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxResultsPageSize));
+        List<JenkinsTestCaseSummary> rows = jenkinsTestCaseRepository.findSummariesByJenkinsResultIdAndIdGreaterThanOrderByIdAsc(
+                resultId, afterId != null ? afterId : 0L, PageRequest.of(0, pageSize + 1));
+        return KeysetPage.fromLookahead(rows, pageSize, JenkinsTestCaseSummary::getId);
+    }
+
+    /**
+     * Write all test cases of a result as NDJSON straight from a database stream
+     */
+    public long exportTestCasesByResultId(Long resultId, OutputStream out) throws IOException {
+        return ndjsonExportService.write(
+                () -> jenkinsTestCaseRepository.streamSummariesByJenkinsResultIdOrderByIdAsc(resultId),
+                Function.identity(), out);
+    }
+
     public Map<String, Object> getJenkinsStatistics() {
         Map<String, Object> stats = new HashMap<>();
 
         try {
-            List<JenkinsResult> latestResults = jenkinsResultRepository.findLatestResultsForAllJobs();
+            JenkinsLatestBuildStats latestBuilds = jenkinsResultRepository.getLatestBuildStats();
 
-            stats.put("totalJobs", latestResults.size());
-            stats.put("successfulJobs", latestResults.stream()
-                    .mapToLong(jr -> "SUCCESS".equals(jr.getBuildStatus()) ? 1 : 0).sum());
-            stats.put("failedJobs", latestResults.stream()
-                    .mapToLong(jr -> "FAILURE".equals(jr.getBuildStatus()) ? 1 : 0).sum());
+            stats.put("totalJobs", latestBuilds.getTotalJobs());
+            stats.put("successfulJobs", latestBuilds.getSuccessfulJobs());
+            stats.put("failedJobs", latestBuilds.getFailedJobs());
 
-            Long totalTests = jenkinsResultRepository.getTotalTestsFromLatestBuilds();
-            Long passedTests = jenkinsResultRepository.getTotalPassedTestsFromLatestBuilds();
-            Long failedTests = jenkinsResultRepository.getTotalFailedTestsFromLatestBuilds();
+            Long passedTests = latestBuilds.getPassedTests();
+            Long failedTests = latestBuilds.getFailedTests();
 
-            totalTests = passedTests + failedTests;
+            Long totalTests = passedTests + failedTests;
 
             stats.put("totalTests", totalTests != null ? totalTests : 0);
             stats.put("passedTests", passedTests != null ? passedTests : 0);
@@ -107,35 +247,183 @@ public class JenkinsService {
         return stats;
     }
 
-    public void syncAllJobsFromJenkins() {
+    /**
+     * Sync every Jenkins job in parallel on the sync worker pool and return a per-job summary
+     */
+    public Map<String, Object> syncAllJobsFromJenkins() {
+        return syncAllJobsFromJenkins(new SyncJob(SyncJobService.TYPE_JENKINS_SYNC, "all"));
+    }
+
+    /**
+     * Same as {@link #syncAllJobsFromJenkins()} but reports phase and per-job progress to the given sync job
+     */
+    public Map<String, Object> syncAllJobsFromJenkins(SyncJob syncJob) {
+        return syncJobsFromJenkins(syncJob, jobName -> true);
+    }
+
+    /**
+     * Sync only the named jobs (e.g. the ones the scheduler found due), still from a single job listing call
+     */
+    public Map<String, Object> syncSelectedJobsFromJenkins(Set<String> jobNames, SyncJob syncJob) {
+        return syncJobsFromJenkins(syncJob, jobNames::contains);
+    }
+
+    private Map<String, Object> syncJobsFromJenkins(SyncJob syncJob, Predicate<String> includeJob) {
         try {
-            List<String> jobNames = fetchJobNamesFromJenkins();
+            syncJob.setPhase("FETCHING_JOBS");
+            Map<String, JsonNode> jobListing = fetchJobListingFromJenkins();
 
-            for (String jobName : jobNames) {
-                try {
-                    syncJobResultFromJenkins(jobName);
+            // Compare each job's last completed build against its watermark; only moved jobs get synced
+            Map<String, JenkinsJobWatermark> watermarks = new HashMap<>();
+            for (JenkinsJobWatermark watermark : jenkinsJobWatermarkRepository.findAll()) {
+                watermarks.put(watermark.getJobName(), watermark);
+            }
+
+            Map<String, String> changedJobs = new LinkedHashMap<>();
+            int jobsWithoutBuilds = 0;
+            int excludedJobs = 0;
+            for (Map.Entry<String, JsonNode> entry : jobListing.entrySet()) {
+                if (!includeJob.test(entry.getKey())) {
+                    excludedJobs++;
+                    continue;
+                }
+                JsonNode lastCompletedBuild = entry.getValue();
+                if (lastCompletedBuild == null || lastCompletedBuild.isNull()) {
+                    jobsWithoutBuilds++;
+                    continue;
                 }
-                catch (Exception e) {
-                    System.err.println("Failed to sync job " + jobName + ": " + e.getMessage());
+                int buildNumber = lastCompletedBuild.path("number").asInt();
+                JenkinsJobWatermark watermark = watermarks.get(entry.getKey());
+                if (watermark == null || watermark.hasMoved(buildNumber, getBuildResult(lastCompletedBuild))) {
+                    changedJobs.put(entry.getKey(), String.valueOf(buildNumber));
                 }
             }
+            int unchangedJobs = jobListing.size() - excludedJobs - changedJobs.size() - jobsWithoutBuilds;
+            System.out.println("Jenkins listing: " + jobListing.size() + " jobs, " + changedJobs.size() +
+                    " changed, " + unchangedJobs + " unchanged, " + jobsWithoutBuilds + " without completed builds");
+
+            syncJob.setTotalItems(changedJobs.size());
+            syncJob.setPhase("SYNCING_JOBS");
+            long startTime = System.currentTimeMillis();
+            int totalJobs = changedJobs.size();
+            AtomicInteger completed = new AtomicInteger();
+            AtomicInteger failed = new AtomicInteger();
+            Map<String, Long> jobDurations = new ConcurrentHashMap<>();
+
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (Map.Entry<String, String> changedJob : changedJobs.entrySet()) {
+                String jobName = changedJob.getKey();
+                futures.add(CompletableFuture.runAsync(() -> {
+                    long jobStart = System.currentTimeMillis();
+                    boolean success;
+                    try {
+                        success = syncJobWithHostLimit(jobName, changedJob.getValue());
+                    }
+                    catch (Exception e) {
+                        System.err.println("Failed to sync job " + jobName + ": " + e.getMessage());
+                        success = false;
+                    }
+                    long jobDuration = System.currentTimeMillis() - jobStart;
+                    jobDurations.put(jobName, jobDuration);
+                    if (success) {
+                        syncJob.itemProcessed();
+                    }
+                    else {
+                        failed.incrementAndGet();
+                        syncJob.itemFailed("Failed to sync job " + jobName);
+                    }
+                    System.out.println("[" + completed.incrementAndGet() + "/" + totalJobs + "] " +
+                            (success ? "Synced" : "Failed") + " job " + jobName + " in " + jobDuration + " ms");
+                }, jenkinsSyncExecutor));
+            }
+
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+            long wallClockMs = System.currentTimeMillis() - startTime;
+            long sequentialMs = jobDurations.values().stream().mapToLong(Long::longValue).sum();
+            double speedup = wallClockMs > 0 ? (double) sequentialMs / wallClockMs : 1.0;
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("totalJobs", jobListing.size());
+            if (excludedJobs > 0) {
+                summary.put("selectedJobs", jobListing.size() - excludedJobs);
+            }
+            summary.put("changedJobs", totalJobs);
+            summary.put("unchangedJobs", unchangedJobs);
+            summary.put("jobsWithoutBuilds", jobsWithoutBuilds);
+            summary.put("succeededJobs", totalJobs - failed.get());
+            summary.put("failedJobs", failed.get());
+            summary.put("workers", jenkinsSyncExecutor.getMaxPoolSize());
+            summary.put("maxConcurrentPerHost", maxConcurrentPerHost);
+            summary.put("wallClockMs", wallClockMs);
+            summary.put("sequentialMs", sequentialMs);
+            summary.put("speedup", Math.round(speedup * 100.0) / 100.0);
+
+            System.out.println("Jenkins sync finished: " + totalJobs + " changed jobs in " + wallClockMs +
+                    " ms (sum of job times " + sequentialMs + " ms, speedup " + summary.get("speedup") + "x)");
+            return summary;
         }
         catch (Exception e) {
             throw new RuntimeException("Failed to sync jobs from Jenkins: " + e.getMessage(), e);
         }
     }
 
-    public void syncJobResultFromJenkins(String jobName) {
+    private boolean syncJobWithHostLimit(String jobName, String buildNumber) throws InterruptedException {
+        Semaphore permits = hostPermits.computeIfAbsent(getJenkinsHost(),
+                host -> new Semaphore(Math.max(1, maxConcurrentPerHost)));
+        permits.acquire();
         try {
-            JsonNode buildInfo = fetchLatestCompletedBuildInfo(jobName);
-            if (buildInfo == null) {
-                System.out.println("No completed builds found for job: " + jobName);
-                return;
-            }
+            return syncJobBuildFromJenkins(jobName, buildNumber);
+        }
+        finally {
+            permits.release();
+        }
+    }
+
+    private String getJenkinsHost() {
+        try {
+            String host = URI.create(jenkinsUrl.trim()).getHost();
+            return host != null ? host : jenkinsUrl;
+        }
+        catch (Exception e) {
+            return jenkinsUrl;
+        }
+    }
+
+    public boolean syncJobResultFromJenkins(String jobName) {
+        JsonNode buildInfo = fetchLatestCompletedBuildInfo(jobName);
+        if (buildInfo == null) {
+            System.out.println("No completed builds found for job: " + jobName);
+            return true;
+        }
+        return syncBuild(jobName, buildInfo);
+    }
+
+    /**
+     * Sync a build whose number is already known (e.g. from the job listing), skipping the job lookup call
+     */
+    public boolean syncJobBuildFromJenkins(String jobName, String buildNumber) {
+        JsonNode buildInfo = fetchBuildInfo(jobName, buildNumber);
+        if (buildInfo == null) {
+            return false;
+        }
+        return syncBuild(jobName, buildInfo);
+    }
+
+    private boolean syncBuild(String jobName, JsonNode buildInfo) {
+        synchronized (buildLock(jobName, buildInfo.path("number").asText())) {
+            return syncBuildLocked(jobName, buildInfo);
+        }
+    }
 
+    private Object buildLock(String jobName, String buildNumber) {
+        return buildLocks[Math.floorMod((jobName + "#" + buildNumber).hashCode(), buildLocks.length)];
+    }
+
+    private boolean syncBuildLocked(String jobName, JsonNode buildInfo) {
+        try {
             String buildNumber = buildInfo.get("number").asText();
-            String buildStatus = buildInfo.get("result") != null ?
-                    buildInfo.get("result").asText() : "IN_PROGRESS";
+            String buildStatus = getBuildResult(buildInfo);
 
             Optional<JenkinsResult> existingResult = jenkinsResultRepository
                     .findByJobNameAndBuildNumber(jobName, buildNumber);
@@ -143,7 +431,8 @@ public class JenkinsService {
             if (existingResult.isPresent() &&
                     existingResult.get().getBuildStatus().equals(buildStatus)) {
                 System.out.println("Build " + buildNumber + " for job " + jobName + " is already up to date");
-                return;
+                updateWatermark(jobName, buildInfo);
+                return true;
             }
 
             JenkinsResult jenkinsResult = existingResult.orElse(new JenkinsResult());
@@ -169,62 +458,224 @@ public class JenkinsService {
                 }
             }
 
-            JenkinsResult savedResult = jenkinsResultRepository.save(jenkinsResult);
+            JenkinsResult savedResult = saveResult(jenkinsResult);
             System.out.println("Saved Jenkins result for job: " + jobName + ", build: " + buildNumber);
 
             // Now fetch individual test cases using Jenkins Test Results API
-            fetchAndSaveIndividualTestCases(savedResult);
+            fetchAndSaveIndividualTestCases(savedResult, producedReports(buildStatus, buildInfo), artifactPaths(buildInfo));
+            updateWatermark(jobName, buildInfo);
+            return true;
 
         }
         catch (Exception e) {
             System.err.println("Failed to sync job result for " + jobName + ": " + e.getMessage());
             e.printStackTrace();
+            return false;
+        }
+    }
+
+    private void updateWatermark(String jobName, JsonNode buildInfo) {
+        LocalDateTime buildTimestamp = null;
+        if (buildInfo.has("timestamp")) {
+            buildTimestamp = LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(buildInfo.get("timestamp").asLong()), java.time.ZoneId.systemDefault());
         }
+        updateWatermark(jobName, buildInfo.get("number").asInt(), getBuildResult(buildInfo), buildTimestamp);
     }
 
-    private void fetchAndSaveIndividualTestCases(JenkinsResult jenkinsResult) {
+    /**
+     * Save a result; when another instance inserted the same build first (unique job_name, build_number),
+     * update that row instead
+     */
+    private JenkinsResult saveResult(JenkinsResult jenkinsResult) {
         try {
-            // Clear existing test cases
-            List<JenkinsTestCase> existingTestCases = jenkinsTestCaseRepository
-                    .findByJenkinsResultId(jenkinsResult.getId());
-            if (!existingTestCases.isEmpty()) {
-                jenkinsTestCaseRepository.deleteAll(existingTestCases);
-                System.out.println("Deleted " + existingTestCases.size() + " existing test cases for job: " + jenkinsResult.getJobName());
+            return jenkinsResultRepository.save(jenkinsResult);
+        }
+        catch (DataIntegrityViolationException e) {
+            if (jenkinsResult.getId() != null) {
+                throw e;
             }
+            JenkinsResult existing = jenkinsResultRepository
+                    .findByJobNameAndBuildNumber(jenkinsResult.getJobName(), jenkinsResult.getBuildNumber())
+                    .orElseThrow(() -> e);
+            jenkinsResult.setId(existing.getId());
+            jenkinsResult.setCreatedAt(existing.getCreatedAt());
+            return jenkinsResultRepository.save(jenkinsResult);
+        }
+    }
 
-            List<JenkinsTestCase> testCases = new ArrayList<>();
+    private void updateWatermark(String jobName, int buildNumber, String buildResult, LocalDateTime buildTimestamp) {
+        JenkinsJobWatermark watermark = jenkinsJobWatermarkRepository.findByJobName(jobName)
+                .orElse(new JenkinsJobWatermark(jobName));
+        // Only move forward, so a late push or resync of an older build does not hide newer ones
+        if (watermark.getLastBuildNumber() != null && watermark.getLastBuildNumber() > buildNumber) {
+            return;
+        }
+        watermark.setLastBuildNumber(buildNumber);
+        watermark.setLastBuildResult(buildResult);
+        if (buildTimestamp != null) {
+            watermark.setLastBuildTimestamp(buildTimestamp);
+        }
+        jenkinsJobWatermarkRepository.save(watermark);
+    }
 
-            // PRIORITY 1: Try to extract from TestNG XML files (most reliable)
-            testCases.addAll(testNGXMLParserService.extractTestCasesFromXMLFiles(jenkinsResult));
+    /**
+     * Store a build pushed by Jenkins together with its TestNG/Surefire XML, without calling back into Jenkins.
+     * Several reports of one build add up: each report replaces only the test cases of the classes it
+     * contains, and the totals are recounted over all of the build's test cases. Without an explicit status
+     * the build is SUCCESS or UNSTABLE. The build start comes from buildTimestampMillis or else the report.
+     */
+    public Map<String, Object> ingestTestNGReport(String jobName, String buildNumber, String buildStatus,
+                                                  String buildUrl, Long buildTimestampMillis, Path xmlFile,
+                                                  SyncJob syncJob) {
+        synchronized (buildLock(jobName, buildNumber)) {
+            return ingestTestNGReportLocked(jobName, buildNumber, buildStatus, buildUrl, buildTimestampMillis,
+                    xmlFile, syncJob);
+        }
+    }
 
-            if (testCases.isEmpty()) {
-                System.out.println("No test cases found in XML files, trying Jenkins Test Report API...");
+    private Map<String, Object> ingestTestNGReportLocked(String jobName, String buildNumber, String buildStatus,
+                                                         String buildUrl, Long buildTimestampMillis, Path xmlFile,
+                                                         SyncJob syncJob) {
+        String fileName = xmlFile.getFileName().toString();
+        JenkinsResult jenkinsResult = jenkinsResultRepository.findByJobNameAndBuildNumber(jobName, buildNumber)
+                .orElse(new JenkinsResult(jobName, buildNumber, null));
 
-                // PRIORITY 2: Use Jenkins standard test results API for individual test cases
-                JsonNode testReport = fetchJenkinsTestReport(jenkinsResult.getJobName(), jenkinsResult.getBuildNumber());
+        LocalDateTime buildTimestamp;
+        if (buildTimestampMillis != null) {
+            buildTimestamp = LocalDateTime.ofInstant(Instant.ofEpochMilli(buildTimestampMillis), java.time.ZoneId.systemDefault());
+        }
+        else {
+            try (InputStream in = Files.newInputStream(xmlFile)) {
+                buildTimestamp = testNGXMLParserService.readReportStartTime(in, fileName);
+            }
+            catch (IOException e) {
+                throw new RuntimeException("Failed to read uploaded TestNG report: " + e.getMessage(), e);
+            }
+        }
+        // The earliest start seen across the build's reports; now() only when none carries one
+        if (buildTimestamp != null && (jenkinsResult.getBuildTimestamp() == null
+                || buildTimestamp.isBefore(jenkinsResult.getBuildTimestamp()))) {
+            jenkinsResult.setBuildTimestamp(buildTimestamp);
+        }
+        else if (jenkinsResult.getBuildTimestamp() == null) {
+            jenkinsResult.setBuildTimestamp(LocalDateTime.now());
+        }
 
-                if (testReport != null) {
-                    System.out.println("Successfully fetched Jenkins test report for " + jenkinsResult.getJobName());
-                    testCases.addAll(parseJenkinsTestReport(jenkinsResult, testReport));
+        jenkinsResult.setBuildUrl(buildUrl != null && !buildUrl.isBlank() ? buildUrl
+                : jenkinsUrl + "/job/" + jobName + "/" + buildNumber + "/");
+        if (jenkinsResult.getBuildStatus() == null) {
+            jenkinsResult.setBuildStatus("IN_PROGRESS");
+        }
+        JenkinsResult savedResult = saveResult(jenkinsResult);
+
+        syncJob.setPhase("PARSING_XML");
+        Set<String> replacedClasses = new HashSet<>();
+        long[] persistNanos = new long[1];
+        int savedCount;
+        try (InputStream in = Files.newInputStream(xmlFile)) {
+            savedCount = testNGXMLParserService.parseTestNGXML(savedResult, in, fileName, batch -> {
+                // Clear a class's earlier rows the first time this report reaches it
+                Set<String> newClasses = new HashSet<>();
+                for (JenkinsTestCase testCase : batch) {
+                    if (testCase.getClassName() != null && replacedClasses.add(testCase.getClassName())) {
+                        newClasses.add(testCase.getClassName());
+                    }
+                    syncJob.itemProcessed();
                 }
-                else {
-                    System.out.println("No Jenkins test report found, trying console log parsing...");
-
-                    // PRIORITY 3: Fallback to console log parsing
-                    testCases.addAll(parseTestCasesFromConsoleLog(jenkinsResult));
+                if (!newClasses.isEmpty()) {
+                    jenkinsTestCaseRepository.deleteByJenkinsResultIdAndClassNameIn(savedResult.getId(), newClasses);
                 }
-            }
+                persistTestCases(batch, persistNanos);
+            });
+        }
+        catch (IOException e) {
+            throw new RuntimeException("Failed to read uploaded TestNG report: " + e.getMessage(), e);
+        }
 
-            if (!testCases.isEmpty()) {
-                List<JenkinsTestCase> savedTestCases = jenkinsTestCaseRepository.saveAll(testCases);
-                System.out.println("Successfully saved " + savedTestCases.size() + " test cases for job: " +
-                        jenkinsResult.getJobName() + " build: " + jenkinsResult.getBuildNumber());
+        Map<String, Integer> statusCounts = new HashMap<>();
+        int totalTests = 0;
+        for (Object[] row : jenkinsTestCaseRepository.countByStatusForResult(savedResult.getId())) {
+            int count = ((Number) row[1]).intValue();
+            statusCounts.merge((String) row[0], count, Integer::sum);
+            totalTests += count;
+        }
 
-                // Log sample test cases
-                for (int i = 0; i < Math.min(3, savedTestCases.size()); i++) {
-                    JenkinsTestCase tc = savedTestCases.get(i);
-                    System.out.println("Sample test case " + (i + 1) + ": " + tc.getClassName() + "." + tc.getTestName() + " - " + tc.getStatus());
-                }
+        int failed = statusCounts.getOrDefault("FAILED", 0);
+        savedResult.setTotalTests(totalTests);
+        savedResult.setPassedTests(statusCounts.getOrDefault("PASSED", 0));
+        savedResult.setFailedTests(failed);
+        savedResult.setSkippedTests(statusCounts.getOrDefault("SKIPPED", 0));
+        savedResult.setBuildStatus(buildStatus != null && !buildStatus.isBlank() ? buildStatus.toUpperCase()
+                : (failed > 0 ? "UNSTABLE" : "SUCCESS"));
+        jenkinsResultRepository.save(savedResult);
+
+        try {
+            updateWatermark(jobName, Integer.parseInt(buildNumber), savedResult.getBuildStatus(), savedResult.getBuildTimestamp());
+        }
+        catch (NumberFormatException e) {
+            System.out.println("Build number " + buildNumber + " for job " + jobName + " is not numeric, watermark not updated");
+        }
+
+        System.out.println("Ingested " + savedCount + " test cases from " + fileName + " for job: " + jobName +
+                " build: " + buildNumber + " (" + totalTests + " in build)");
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("jobName", jobName);
+        summary.put("buildNumber", buildNumber);
+        summary.put("buildStatus", savedResult.getBuildStatus());
+        summary.put("ingestedTests", savedCount);
+        summary.put("totalTests", totalTests);
+        summary.put("passedTests", savedResult.getPassedTests());
+        summary.put("failedTests", failed);
+        summary.put("skippedTests", savedResult.getSkippedTests());
+        return summary;
+    }
+
+    private String getBuildResult(JsonNode build) {
+        JsonNode result = build.get("result");
+        return result != null && !result.isNull() ? result.asText() : "IN_PROGRESS";
+    }
+
+    /**
+     * Failed or aborted builds and builds without artifacts usually have no reports at all; finding nothing
+     * for them says nothing about the job's layout, so they never feed the negative cache
+     */
+    private boolean producedReports(String buildStatus, JsonNode buildInfo) {
+        return !"FAILURE".equals(buildStatus) && !"ABORTED".equals(buildStatus)
+                && buildInfo.path("artifacts").size() > 0;
+    }
+
+    // Relative paths of the artifacts the build info lists
+    private List<String> artifactPaths(JsonNode buildInfo) {
+        List<String> paths = new ArrayList<>();
+        for (JsonNode artifact : buildInfo.path("artifacts")) {
+            String relativePath = artifact.path("relativePath").asText();
+            if (!relativePath.isEmpty()) {
+                paths.add(relativePath);
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Replace the result's test cases in one transaction: the old rows are deleted and the new ones inserted
+     * together, so a sync that fails midway (or a restart) leaves the previous test cases in place. Layouts are
+     * learned only after the commit.
+     */
+    private void fetchAndSaveIndividualTestCases(JenkinsResult jenkinsResult, boolean producedReports,
+                                                 List<String> buildArtifacts) {
+        try {
+            List<Runnable> afterCommit = new ArrayList<>();
+            long[] persistNanos = new long[1];
+            Integer savedCount = transactionTemplate.execute(status ->
+                    replaceTestCases(jenkinsResult, producedReports, buildArtifacts, persistNanos, afterCommit));
+            afterCommit.forEach(Runnable::run);
+
+            if (savedCount != null && savedCount > 0) {
+                long persistMs = Math.max(1, persistNanos[0] / 1_000_000);
+                System.out.println("Successfully saved " + savedCount + " test cases for job: " +
+                        jenkinsResult.getJobName() + " build: " + jenkinsResult.getBuildNumber() +
+                        " in " + persistMs + " ms (" + (savedCount * 1000L / persistMs) + " rows/sec)");
             }
             else {
                 System.out.println("No individual test cases could be extracted for job: " + jenkinsResult.getJobName());
@@ -236,11 +687,125 @@ public class JenkinsService {
 
         }
         catch (Exception e) {
-            System.err.println("Error fetching individual test cases: " + e.getMessage());
+            System.err.println("Error fetching individual test cases, keeping the previous ones for job: " +
+                    jenkinsResult.getJobName() + " build: " + jenkinsResult.getBuildNumber() + " - " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    // Runs inside the replacement transaction; layout learning is queued on afterCommit
+    private int replaceTestCases(JenkinsResult jenkinsResult, boolean producedReports, List<String> buildArtifacts,
+                                 long[] persistNanos, List<Runnable> afterCommit) {
+        // Clear existing test cases with a single bulk delete
+        int deletedCount = jenkinsTestCaseRepository.deleteByJenkinsResultId(jenkinsResult.getId());
+        if (deletedCount > 0) {
+            System.out.println("Deleted " + deletedCount + " existing test cases for job: " + jenkinsResult.getJobName());
+        }
+
+        String jobName = jenkinsResult.getJobName();
+
+        // Where this job's results were found last time; usually a single direct fetch
+        int savedCount = 0;
+        Optional<JenkinsArtifactLayout> layout = jenkinsArtifactLayoutService.findUsableLayout(jobName);
+        if (layout.isPresent()) {
+            savedCount = extractWithLayout(jenkinsResult, layout.get(), buildArtifacts, persistNanos);
+            if (savedCount == 0) {
+                System.out.println("Learned " + layout.get().getStrategy() + " layout found nothing for " +
+                        jobName + ", rediscovering");
+                if (producedReports) {
+                    jenkinsArtifactLayoutService.markLayoutFailed(jobName);
+                }
+            }
+        }
+
+        if (savedCount == 0) {
+            savedCount = discoverTestCases(jenkinsResult, producedReports, persistNanos, afterCommit);
+        }
+        return savedCount;
+    }
+
+    private int extractWithLayout(JenkinsResult jenkinsResult, JenkinsArtifactLayout layout, List<String> buildArtifacts,
+                                  long[] persistNanos) {
+        switch (layout.getStrategy()) {
+            case JenkinsArtifactLayout.STRATEGY_TEST_REPORT:
+                JsonNode testReport = fetchJenkinsTestReport(jenkinsResult.getJobName(), jenkinsResult.getBuildNumber());
+                return testReport != null ? persistTestCases(parseJenkinsTestReport(jenkinsResult, testReport), persistNanos) : 0;
+            case JenkinsArtifactLayout.STRATEGY_CONSOLE_LOG:
+                return persistTestCases(parseTestCasesFromConsoleLog(jenkinsResult), persistNanos);
+            default:
+                return testNGXMLParserService.extractTestCasesWithLayout(jenkinsResult, layout, buildArtifacts,
+                        batch -> persistTestCases(batch, persistNanos));
+        }
+    }
+
+    /**
+     * Full discovery in priority order, skipping sources that recently found nothing for this job.
+     * The first source that yields test cases is learned for the next build, unless a higher-priority
+     * source was skipped only because of the negative cache. Sources that find nothing are only
+     * negatively cached when the build produced reports.
+     */
+    private int discoverTestCases(JenkinsResult jenkinsResult, boolean producedReports, long[] persistNanos,
+                                  List<Runnable> afterCommit) {
+        String jobName = jenkinsResult.getJobName();
+        String buildNumber = jenkinsResult.getBuildNumber();
+        boolean skippedHigherPriority = false;
+
+        // PRIORITY 1: Try to extract from TestNG XML files (most reliable), persisting batches as they are parsed
+        if (!jenkinsArtifactLayoutService.hasRecentlyFailed(jobName, JenkinsArtifactLayout.STRATEGY_XML_ARTIFACTS)) {
+            int savedCount = testNGXMLParserService.extractTestCasesFromXMLFiles(jenkinsResult,
+                    batch -> persistTestCases(batch, persistNanos),
+                    (strategy, paths) -> afterCommit.add(() -> jenkinsArtifactLayoutService.learn(jobName, buildNumber, strategy, paths)));
+            if (savedCount > 0) {
+                return savedCount;
+            }
+            if (producedReports) {
+                jenkinsArtifactLayoutService.markFailed(jobName, JenkinsArtifactLayout.STRATEGY_XML_ARTIFACTS);
+            }
+        }
+        else {
+            skippedHigherPriority = true;
+        }
+
+        // PRIORITY 2: Use Jenkins standard test results API for individual test cases
+        if (!jenkinsArtifactLayoutService.hasRecentlyFailed(jobName, JenkinsArtifactLayout.STRATEGY_TEST_REPORT)) {
+            System.out.println("No test cases found in XML files, trying Jenkins Test Report API...");
+            JsonNode testReport = fetchJenkinsTestReport(jobName, buildNumber);
+            if (testReport != null) {
+                System.out.println("Successfully fetched Jenkins test report for " + jobName);
+                List<JenkinsTestCase> testCases = parseJenkinsTestReport(jenkinsResult, testReport);
+                if (!testCases.isEmpty()) {
+                    if (!skippedHigherPriority) {
+                        afterCommit.add(() -> jenkinsArtifactLayoutService.learn(jobName, buildNumber,
+                                JenkinsArtifactLayout.STRATEGY_TEST_REPORT, List.of()));
+                    }
+                    return persistTestCases(testCases, persistNanos);
+                }
+            }
+            if (producedReports) {
+                jenkinsArtifactLayoutService.markFailed(jobName, JenkinsArtifactLayout.STRATEGY_TEST_REPORT);
+            }
+        }
+        else {
+            skippedHigherPriority = true;
+        }
+
+        // PRIORITY 3: Fallback to console log parsing
+        System.out.println("No Jenkins test report found, trying console log parsing...");
+        List<JenkinsTestCase> testCases = parseTestCasesFromConsoleLog(jenkinsResult);
+        if (!testCases.isEmpty() && !skippedHigherPriority) {
+            afterCommit.add(() -> jenkinsArtifactLayoutService.learn(jobName, buildNumber,
+                    JenkinsArtifactLayout.STRATEGY_CONSOLE_LOG, List.of()));
+        }
+        return persistTestCases(testCases, persistNanos);
+    }
+
+    private int persistTestCases(List<JenkinsTestCase> testCases, long[] persistNanos) {
+        long start = System.nanoTime();
+        int inserted = jenkinsTestCaseBatchWriter.insertAll(testCases);
+        persistNanos[0] += System.nanoTime() - start;
+        return inserted;
+    }
+
     private JsonNode fetchJenkinsTestReport(String jobName, String buildNumber) {
         String url = jenkinsUrl + "/job/" + jobName + "/" + buildNumber + "/testReport/api/json";
 
@@ -374,89 +939,19 @@ public class JenkinsService {
 
     private List<JenkinsTestCase> parseTestCasesFromConsoleLog(JenkinsResult jenkinsResult) {
         List<JenkinsTestCase> testCases = new ArrayList<>();
+        System.out.println("Parsing console log for test results...");
 
-        try {
-            String consoleUrl = jenkinsUrl + "/job/" + jenkinsResult.getJobName() + "/" +
-                    jenkinsResult.getBuildNumber() + "/consoleText";
-
-            HttpHeaders headers = createAuthHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<String> response = restTemplate.exchange(
-                    consoleUrl, HttpMethod.GET, entity, String.class);
-
-            if (response.getStatusCode().is2xxSuccessful()) {
-                String consoleLog = response.getBody();
-                System.out.println("Parsing console log for test results...");
-
-                String[] lines = consoleLog.split("\n");
-                for (String line : lines) {
-                    // Look for TestNG result patterns
-                    if (line.contains("testcases.") && (line.contains("PASSED") || line.contains("FAILED") || line.contains("SKIPPED"))) {
-                        JenkinsTestCase testCase = parseTestCaseFromLogLine(jenkinsResult, line);
-                        if (testCase != null) {
-                            testCases.add(testCase);
-                        }
-                    }
-                }
-
-                System.out.println("Extracted " + testCases.size() + " test cases from console log");
-            }
-
-        }
-        catch (Exception e) {
-            System.err.println("Error parsing console log: " + e.getMessage());
-        }
-
-        return testCases;
-    }
-
-    private JenkinsTestCase parseTestCaseFromLogLine(JenkinsResult jenkinsResult, String line) {
-        try {
+        for (ConsoleTestResult result : jenkinsConsoleLogParser.parse(jenkinsResult.getJobName(), jenkinsResult.getBuildNumber())) {
             JenkinsTestCase testCase = new JenkinsTestCase();
             testCase.setJenkinsResult(jenkinsResult);
-
-            // Parse patterns like: "testcases.AccountReceivableIT.methodName ... PASSED"
-            String status = "UNKNOWN";
-            if (line.contains("PASSED")) {
-                status = "PASSED";
-            }
-            else if (line.contains("FAILED")) {
-                status = "FAILED";
-            }
-            else if (line.contains("SKIPPED")) {
-                status = "SKIPPED";
-            }
-            testCase.setStatus(status);
-
-            // Extract class and method name
-            if (line.contains("testcases.")) {
-                int start = line.indexOf("testcases.");
-                String testInfo = line.substring(start);
-
-                // Find the end of the test identifier
-                String[] parts = testInfo.split("\\s+");
-                if (parts.length > 0) {
-                    String fullTestName = parts[0];
-                    int lastDot = fullTestName.lastIndexOf(".");
-                    if (lastDot > 0) {
-                        testCase.setClassName(fullTestName.substring(0, lastDot));
-                        testCase.setTestName(fullTestName.substring(lastDot + 1));
-                    }
-                    else {
-                        testCase.setClassName("testcases.AccountReceivableIT");
-                        testCase.setTestName(fullTestName);
-                    }
-                }
-            }
-
-            return testCase;
-
-        }
-        catch (Exception e) {
-            System.err.println("Error parsing test case from log line: " + e.getMessage());
-            return null;
+            testCase.setClassName(result.getClassName());
+            testCase.setTestName(result.getTestName());
+            testCase.setStatus(result.getStatus());
+            testCases.add(testCase);
         }
+
+        System.out.println("Extracted " + testCases.size() + " test cases from console log");
+        return testCases;
     }
 
     private String normalizeJenkinsStatus(String status) {
@@ -484,8 +979,11 @@ public class JenkinsService {
         return keys;
     }
 
-    private List<String> fetchJobNamesFromJenkins() {
-        String url = jenkinsUrl + "/api/json?tree=jobs[name]";
+    /**
+     * Single listing call returning each job's last completed build (number, result, timestamp)
+     */
+    private Map<String, JsonNode> fetchJobListingFromJenkins() {
+        String url = jenkinsUrl + "/api/json?tree=jobs[name,lastCompletedBuild[number,result,timestamp]]";
 
         try {
             HttpHeaders headers = createAuthHeaders();
@@ -497,15 +995,15 @@ public class JenkinsService {
             JsonNode root = objectMapper.readTree(response.getBody());
             JsonNode jobs = root.get("jobs");
 
-            List<String> jobNames = new ArrayList<>();
-            if (jobs.isArray()) {
+            Map<String, JsonNode> jobListing = new LinkedHashMap<>();
+            if (jobs != null && jobs.isArray()) {
                 for (JsonNode job : jobs) {
-                    jobNames.add(job.get("name").asText());
+                    jobListing.put(job.get("name").asText(), job.get("lastCompletedBuild"));
                 }
             }
 
-            System.out.println("Found " + jobNames.size() + " jobs in Jenkins");
-            return jobNames;
+            System.out.println("Found " + jobListing.size() + " jobs in Jenkins");
+            return jobListing;
         }
         catch (Exception e) {
             throw new RuntimeException("Failed to fetch job names from Jenkins", e);
@@ -530,15 +1028,28 @@ public class JenkinsService {
             }
 
             int buildNumber = lastCompletedBuild.get("number").asInt();
+            return fetchBuildInfo(jobName, String.valueOf(buildNumber));
+        }
+        catch (Exception e) {
+            System.err.println("Failed to fetch build info for job: " + jobName + " - " + e.getMessage());
+            return null;
+        }
+    }
+
+    private JsonNode fetchBuildInfo(String jobName, String buildNumber) {
+        String buildUrl = jenkinsUrl + "/job/" + jobName + "/" + buildNumber + "/api/json";
+
+        try {
+            HttpHeaders headers = createAuthHeaders();
+            HttpEntity<String> entity = new HttpEntity<>(headers);
 
-            String buildUrl = jenkinsUrl + "/job/" + jobName + "/" + buildNumber + "/api/json";
             ResponseEntity<String> buildResponse = restTemplate.exchange(
                     buildUrl, HttpMethod.GET, entity, String.class);
 
             return objectMapper.readTree(buildResponse.getBody());
         }
         catch (Exception e) {
-            System.err.println("Failed to fetch build info for job: " + jobName + " - " + e.getMessage());
+            System.err.println("Failed to fetch build " + buildNumber + " info for job: " + jobName + " - " + e.getMessage());
             return null;
         }
     }
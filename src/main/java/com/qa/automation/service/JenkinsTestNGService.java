@@ -6,10 +6,7 @@ import com.qa.automation.model.JenkinsResult;
 import com.qa.automation.model.JenkinsTestCase;
 import com.qa.automation.repository.JenkinsResultRepository;
 import com.qa.automation.repository.JenkinsTestCaseRepository;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import com.qa.automation.service.JenkinsConsoleLogParser.ConsoleTestResult;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -25,12 +22,14 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
 @Service
 public class JenkinsTestNGService {
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Autowired
+    private RestTemplate restTemplate;
     private final ObjectMapper objectMapper = new ObjectMapper();
     @Autowired
     private JenkinsResultRepository jenkinsResultRepository;
@@ -38,6 +37,8 @@ public class JenkinsTestNGService {
     private JenkinsTestCaseRepository jenkinsTestCaseRepository;
     @Autowired
     private TestNGXMLParserService testNGXMLParserService;
+    @Autowired
+    private JenkinsConsoleLogParser jenkinsConsoleLogParser;
     @Value("${jenkins.url:}")
     private String jenkinsUrl;
     @Value("${jenkins.username:}")
@@ -352,82 +353,17 @@ public class JenkinsTestNGService {
     private List<Map<String, Object>> parseTestCasesFromConsoleLogForAPI(String jobName, String buildNumber) {
         List<Map<String, Object>> testCases = new ArrayList<>();
 
-        try {
-            String consoleUrl = jenkinsUrl + "/job/" + jobName + "/" + buildNumber + "/consoleText";
-
-            HttpHeaders headers = createAuthHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<String> response = restTemplate.exchange(
-                    consoleUrl, HttpMethod.GET, entity, String.class);
-
-            if (response.getStatusCode().is2xxSuccessful()) {
-                String consoleLog = response.getBody();
-                String[] lines = consoleLog.split("\n");
-
-                for (String line : lines) {
-                    // Look for TestNG result patterns
-                    if (line.contains("testcases.") && (line.contains("PASSED") || line.contains("FAILED") || line.contains("SKIPPED"))) {
-                        Map<String, Object> testCase = parseTestCaseFromLogLineForAPI(line);
-                        if (testCase != null) {
-                            testCases.add(testCase);
-                        }
-                    }
-                }
-            }
-        }
-        catch (Exception e) {
-            System.err.println("Error parsing console log: " + e.getMessage());
+        for (ConsoleTestResult result : jenkinsConsoleLogParser.parse(jobName, buildNumber)) {
+            Map<String, Object> testCase = new HashMap<>();
+            testCase.put("status", result.getStatus());
+            testCase.put("className", result.getClassName());
+            testCase.put("testName", result.getTestName());
+            testCases.add(testCase);
         }
 
         return testCases;
     }
 
-    private Map<String, Object> parseTestCaseFromLogLineForAPI(String line) {
-        try {
-            Map<String, Object> testCase = new HashMap<>();
-
-            // Determine status
-            String status = "UNKNOWN";
-            if (line.contains("PASSED")) {
-                status = "PASSED";
-            }
-            else if (line.contains("FAILED")) {
-                status = "FAILED";
-            }
-            else if (line.contains("SKIPPED")) {
-                status = "SKIPPED";
-            }
-            testCase.put("status", status);
-
-            // Extract class and method name from patterns like "testcases.AccountReceivableIT.methodName"
-            if (line.contains("testcases.")) {
-                int start = line.indexOf("testcases.");
-                String testInfo = line.substring(start);
-
-                String[] parts = testInfo.split("\\s+");
-                if (parts.length > 0) {
-                    String fullTestName = parts[0];
-                    int lastDot = fullTestName.lastIndexOf(".");
-                    if (lastDot > 0) {
-                        testCase.put("className", fullTestName.substring(0, lastDot));
-                        testCase.put("testName", fullTestName.substring(lastDot + 1));
-                    }
-                    else {
-                        testCase.put("className", "testcases.AccountReceivableIT");
-                        testCase.put("testName", fullTestName);
-                    }
-                }
-            }
-
-            return testCase;
-        }
-        catch (Exception e) {
-            System.err.println("Error parsing test case from log line: " + e.getMessage());
-            return null;
-        }
-    }
-
     private List<Map<String, Object>> convertToDetailedFormat(List<JenkinsTestCase> testCases) {
         List<Map<String, Object>> result = new ArrayList<>();
 
@@ -494,26 +430,14 @@ public class JenkinsTestNGService {
     }
 
     private JsonNode sendGetRequest(String urlString) throws Exception {
-        URL url = new URL(urlString);
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        connection.setRequestMethod("GET");
-        connection.setRequestProperty("Authorization", "Basic " + encodeCredentials());
-
-        int responseCode = connection.getResponseCode();
-        if (responseCode == 200) {
-            BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-            String inputLine;
-            StringBuilder response = new StringBuilder();
-
-            while ((inputLine = in.readLine()) != null) {
-                response.append(inputLine);
-            }
-            in.close();
+        HttpEntity<String> entity = new HttpEntity<>(createAuthHeaders());
 
-            return objectMapper.readTree(response.toString());
+        try {
+            ResponseEntity<String> response = restTemplate.exchange(urlString, HttpMethod.GET, entity, String.class);
+            return objectMapper.readTree(response.getBody());
         }
-        else {
-            System.err.println("Failed to fetch data from: " + urlString + ". Response code: " + responseCode);
+        catch (HttpStatusCodeException e) {
+            System.err.println("Failed to fetch data from: " + urlString + ". Response code: " + e.getStatusCode().value());
             return null;
         }
     }
@@ -529,11 +453,6 @@ public class JenkinsTestNGService {
         return headers;
     }
 
-    private String encodeCredentials() {
-        String credentials = jenkinsUsername + ":" + jenkinsToken;
-        return Base64.getEncoder().encodeToString(credentials.getBytes());
-    }
-
     private String formatTimestamp(long timestamp) {
         return LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp),
                 java.time.ZoneId.systemDefault()).toString();
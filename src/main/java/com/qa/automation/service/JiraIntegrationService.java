@@ -2,11 +2,18 @@ package com.qa.automation.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.qa.automation.config.JiraConfig;
 import com.qa.automation.dto.JiraIssueDto;
 import com.qa.automation.dto.JiraTestCaseDto;
+import com.qa.automation.model.JiraIssue;
 import com.qa.automation.repository.JiraIssueRepository;
 import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
@@ -18,20 +25,27 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
 @Service
 public class JiraIntegrationService {
 
     private static final Logger logger = LoggerFactory.getLogger(JiraIntegrationService.class);
+    private static final int ISSUE_CHUNK_SIZE = 100;
+    private static final DateTimeFormatter JIRA_TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
     // Pattern to extract QTest test case links from Jira issues
     private static final Pattern QTEST_PATTERN = Pattern.compile(
             "(?i)(?:qtest|test\\s*case)\\s*:?\\s*([\\w\\s\\-_.,()\\[\\]]+)",
@@ -46,15 +60,28 @@ public class JiraIntegrationService {
     @Autowired
     private ObjectMapper objectMapper;
     @Autowired
-    private QTestService qTestService;
+    private QTestCatalogService qTestCatalogService;
+
+    @Value("${jira.issue-fetch.concurrency:4}")
+    private int issueFetchConcurrency;
+
+    @Value("${jira.issue-fetch.retries:2}")
+    private int issueFetchRetries;
+
+    @Value("${jira.comment-scan.concurrency:10}")
+    private int commentScanConcurrency;
+
+    @Value("${jira.comment-scan.timeout-seconds:15}")
+    private long commentScanTimeoutSeconds;
 
     /**
-     * ENHANCED: Fetch all issues from a specific sprint with optional project configuration
+     * ENHANCED: Fetch all issues from a specific sprint with optional project configuration.
+     * Returns null if Jira is not configured or the fetch fails, so callers can keep their previous state.
      */
     public List<JiraIssueDto> fetchIssuesFromSprint(String sprintId, String jiraProjectKey, String jiraBoardId) {
         if (!jiraConfig.isConfigured()) {
             logger.warn("Jira configuration is not complete");
-            return new ArrayList<>();
+            return null;
         }
 
         try {
@@ -68,32 +95,230 @@ public class JiraIntegrationService {
             // Use the new search/jql endpoint as required by Jira deprecation
             logger.info("Fetching Jira issues from sprint: {} using JQL: {} (Project: {})",
                     sprintId, jql, projectKey);
+            long start = System.currentTimeMillis();
 
-            String response = jiraWebClient.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/rest/api/3/search/jql")
-                            .queryParam("jql", jql)
-                            .queryParam("maxResults", 1000)
-                            .queryParam("expand", "changelog")
-                            .queryParam("fields", "summary,description,issuetype,status,priority,assignee,created,updated,customfield_10020,customfield_11051")
-                            .build())
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .timeout(Duration.ofSeconds(30))
-                    .block();
+            // Phase 1: keys and Jira "updated" only, following nextPageToken until the last page
+            Map<String, LocalDateTime> jiraUpdatedByKey = fetchIssueKeys(jql);
+            if (jiraUpdatedByKey.isEmpty()) {
+                logger.info("No issues found in sprint {}", sprintId);
+                return new ArrayList<>();
+            }
 
-            logger.debug("Raw Jira API Response for sprint {}: {}", sprintId, response);
-            return parseJiraResponse(response, sprintId);
+            // Changelogs are only read for issues that are new or changed since the last sync read them
+            Set<String> needsChangelog = findIssuesNeedingChangelog(jiraUpdatedByKey);
+
+            // Phase 2: full fields in concurrent key chunks, each chunk parsed as soon as it arrives
+            List<String> keys = new ArrayList<>(jiraUpdatedByKey.keySet());
+            List<List<String>> chunks = new ArrayList<>();
+            for (int i = 0; i < keys.size(); i += ISSUE_CHUNK_SIZE) {
+                chunks.add(keys.subList(i, Math.min(i + ISSUE_CHUNK_SIZE, keys.size())));
+            }
+
+            Map<String, JiraIssueDto> issuesByKey = new ConcurrentHashMap<>();
+            Flux.fromIterable(chunks)
+                    .flatMap(this::fetchIssueChunk, issueFetchConcurrency)
+                    .flatMapIterable(response -> parseJiraResponse(response, sprintId))
+                    .flatMap(issueDto -> attachChangelogLinks(issueDto, jiraUpdatedByKey, needsChangelog),
+                            issueFetchConcurrency)
+                    .doOnNext(issueDto -> issuesByKey.put(issueDto.getJiraKey(), issueDto))
+                    .blockLast();
+
+            List<JiraIssueDto> issues = new ArrayList<>();
+            for (String key : keys) {
+                JiraIssueDto issueDto = issuesByKey.get(key);
+                if (issueDto != null) {
+                    issues.add(issueDto);
+                }
+            }
+
+            if (issues.size() < keys.size()) {
+                // Issues deleted or moved between listing the keys and fetching their fields
+                logger.warn("{} issues of sprint {} were listed but not returned by Jira", keys.size() - issues.size(), sprintId);
+            }
+            logger.info("Fetched {} of {} issues from sprint {} in {} chunks ({} changelogs read) in {} ms",
+                    issues.size(), keys.size(), sprintId, chunks.size(), needsChangelog.size(),
+                    System.currentTimeMillis() - start);
+            return issues;
 
         }
         catch (WebClientResponseException e) {
             logger.error("Error fetching Jira issues from sprint {}: {} - {}",
                     sprintId, e.getStatusCode(), e.getResponseBodyAsString());
-            return new ArrayList<>();
+            return null;
         }
         catch (Exception e) {
             logger.error("Unexpected error fetching Jira issues from sprint {}: {}", sprintId, e.getMessage(), e);
-            return new ArrayList<>();
+            return null;
+        }
+    }
+
+    /**
+     * Keys and Jira "updated" timestamps of all issues matching the JQL, in result order
+     */
+    private Map<String, LocalDateTime> fetchIssueKeys(String jql) throws Exception {
+        Map<String, LocalDateTime> jiraUpdatedByKey = new LinkedHashMap<>();
+        String nextPageToken = null;
+
+        do {
+            String pageToken = nextPageToken;
+            String response = jiraWebClient.get()
+                    .uri(uriBuilder -> {
+                        uriBuilder.path("/rest/api/3/search/jql")
+                                .queryParam("jql", jql)
+                                .queryParam("maxResults", 1000)
+                                .queryParam("fields", "updated");
+                        if (pageToken != null) {
+                            uriBuilder.queryParam("nextPageToken", pageToken);
+                        }
+                        return uriBuilder.build();
+                    })
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .timeout(Duration.ofSeconds(30))
+                    .block();
+
+            JsonNode rootNode = objectMapper.readTree(response);
+            for (JsonNode issueNode : rootNode.path("issues")) {
+                jiraUpdatedByKey.put(issueNode.path("key").asText(),
+                        parseJiraTimestamp(issueNode.path("fields").path("updated").asText(null)));
+            }
+
+            nextPageToken = rootNode.path("isLast").asBoolean(true) ? null : rootNode.path("nextPageToken").asText(null);
+        } while (nextPageToken != null);
+
+        return jiraUpdatedByKey;
+    }
+
+    /**
+     * Issues that are not stored yet or whose Jira "updated" is newer than what the last sync saw
+     */
+    private Set<String> findIssuesNeedingChangelog(Map<String, LocalDateTime> jiraUpdatedByKey) {
+        Map<String, LocalDateTime> storedUpdatedByKey = new HashMap<>();
+        for (JiraIssue storedIssue : jiraIssueRepository.findByJiraKeyIn(jiraUpdatedByKey.keySet())) {
+            storedUpdatedByKey.put(storedIssue.getJiraKey(), storedIssue.getJiraUpdatedAt());
+        }
+
+        Set<String> needsChangelog = new HashSet<>();
+        for (Map.Entry<String, LocalDateTime> entry : jiraUpdatedByKey.entrySet()) {
+            LocalDateTime stored = storedUpdatedByKey.get(entry.getKey());
+            if (stored == null || entry.getValue() == null || entry.getValue().isAfter(stored)) {
+                needsChangelog.add(entry.getKey());
+            }
+        }
+        return needsChangelog;
+    }
+
+    /**
+     * Full issue fields for one chunk of keys, without expanding the changelog. Jira may return fewer issues
+     * per page than requested when heavy fields are included, so nextPageToken is followed until the last page.
+     */
+    private Flux<JsonNode> fetchIssueChunk(List<String> keys) {
+        String jql = "key in (" + String.join(",", keys) + ")";
+        return fetchIssueChunkPage(jql, keys.size(), null)
+                .expand(page -> page.path("isLast").asBoolean(true) || page.path("nextPageToken").asText("").isEmpty()
+                        ? Mono.empty()
+                        : fetchIssueChunkPage(jql, keys.size(), page.path("nextPageToken").asText()));
+    }
+
+    // One page of a chunk, retried with backoff so a transient error does not fail the whole sprint
+    private Mono<JsonNode> fetchIssueChunkPage(String jql, int maxResults, String pageToken) {
+        return jiraWebClient.get()
+                .uri(uriBuilder -> {
+                    uriBuilder.path("/rest/api/3/search/jql")
+                            .queryParam("jql", jql)
+                            .queryParam("maxResults", maxResults)
+                            .queryParam("fields", "summary,description,comment,issuetype,status,priority,assignee,created,updated,customfield_10020,customfield_11051");
+                    if (pageToken != null) {
+                        uriBuilder.queryParam("nextPageToken", pageToken);
+                    }
+                    return uriBuilder.build();
+                })
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(Duration.ofSeconds(30))
+                .retryWhen(Retry.backoff(Math.max(0, issueFetchRetries), Duration.ofSeconds(1))
+                        .filter(this::isRetryableJiraError)
+                        .doBeforeRetry(signal -> logger.warn("Retrying Jira issue chunk after: {}", signal.failure().getMessage())));
+    }
+
+    // Timeouts, connection errors, 429 and 5xx; other client errors fail the same way on every attempt
+    private boolean isRetryableJiraError(Throwable e) {
+        if (e instanceof WebClientResponseException responseException) {
+            int status = responseException.getStatusCode().value();
+            return status == 429 || status >= 500;
+        }
+        return true;
+    }
+
+    /**
+     * Read the changelog of issues that need it and extract their qTest links. If the changelog
+     * cannot be read, jiraUpdatedAt stays null so the next sync tries again.
+     */
+    private Mono<JiraIssueDto> attachChangelogLinks(JiraIssueDto issueDto, Map<String, LocalDateTime> jiraUpdatedByKey,
+                                                    Set<String> needsChangelog) {
+        String key = issueDto.getJiraKey();
+        if (!needsChangelog.contains(key)) {
+            issueDto.setJiraUpdatedAt(jiraUpdatedByKey.get(key));
+            return Mono.just(issueDto);
+        }
+
+        return fetchChangelogHistories(key)
+                .map(histories -> {
+                    List<JiraTestCaseDto> linkedTestCases = extractQTestLinkedFromHistories(histories, issueDto.getSummary());
+                    issueDto.setLinkedTestCases(normalizeAndFilterTcOnly(linkedTestCases));
+                    issueDto.setJiraUpdatedAt(jiraUpdatedByKey.get(key));
+                    return issueDto;
+                })
+                .onErrorResume(e -> {
+                    logger.warn("Failed to fetch changelog for issue {}: {}", key, e.getMessage());
+                    return Mono.just(issueDto);
+                });
+    }
+
+    /**
+     * All changelog histories of an issue, following startAt pagination
+     */
+    private Mono<JsonNode> fetchChangelogHistories(String issueKey) {
+        ArrayNode histories = objectMapper.createArrayNode();
+        return fetchChangelogPage(issueKey, 0)
+                .expand(page -> {
+                    int pageSize = page.path("values").size();
+                    if (page.path("isLast").asBoolean(true) || pageSize == 0) {
+                        return Mono.empty();
+                    }
+                    return fetchChangelogPage(issueKey, page.path("startAt").asInt() + pageSize);
+                })
+                .doOnNext(page -> page.path("values").forEach(histories::add))
+                .then(Mono.fromSupplier(() -> histories));
+    }
+
+    private Mono<JsonNode> fetchChangelogPage(String issueKey, int startAt) {
+        return jiraWebClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/rest/api/3/issue/{issueKey}/changelog")
+                        .queryParam("startAt", startAt)
+                        .queryParam("maxResults", 100)
+                        .build(issueKey))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(Duration.ofSeconds(30));
+    }
+
+    /**
+     * Parse a Jira timestamp such as 2024-01-15T10:30:00.000+0000 into UTC
+     */
+    private LocalDateTime parseJiraTimestamp(String timestamp) {
+        if (timestamp == null || timestamp.isEmpty()) {
+            return null;
+        }
+        try {
+            return OffsetDateTime.parse(timestamp, JIRA_TIMESTAMP_FORMAT)
+                    .withOffsetSameInstant(ZoneOffset.UTC)
+                    .toLocalDateTime();
+        }
+        catch (DateTimeParseException e) {
+            logger.debug("Could not parse Jira timestamp '{}': {}", timestamp, e.getMessage());
+            return null;
         }
     }
 
@@ -110,15 +335,14 @@ public class JiraIntegrationService {
             logger.info("Starting paginated fetch for board: {} (Project: {})", boardId, projectKey);
 
             while (hasMore) {
-                String url = String.format("/rest/agile/1.0/board/%s/sprint?startAt=%d&maxResults=%d",
-                        boardId != null ? boardId : jiraConfig.getJiraBoardId(), startAt, maxResults);
+                String url = "/rest/agile/1.0/board/{boardId}/sprint?startAt={startAt}&maxResults={maxResults}";
 
 
                 logger.debug("Fetching sprints batch: startAt={}, maxResults={}", startAt, maxResults);
 
                 // Make your existing WebClient call but with pagination parameters
                 ResponseEntity<Map> response = jiraWebClient.get()
-                        .uri(url)
+                        .uri(url, boardId != null ? boardId : jiraConfig.getJiraBoardId(), startAt, maxResults)
                         .retrieve()
                         .toEntity(Map.class)
                         .block();
@@ -259,18 +483,10 @@ public class JiraIntegrationService {
         }
 
         try {
-            String url = String.format("/rest/api/3/issue/%s/comment", issueKey);
-
             logger.debug("Searching for keyword '{}' in comments of issue: {}", keyword, issueKey);
 
-            String response = jiraWebClient.get()
-                    .uri(url)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .timeout(Duration.ofSeconds(15))
-                    .block();
-
-            return countKeywordInComments(response, keyword);
+            Integer count = fetchKeywordCountInComments(issueKey, keyword).block();
+            return count != null ? count : 0;
 
         }
         catch (WebClientResponseException e) {
@@ -284,6 +500,41 @@ public class JiraIntegrationService {
         }
     }
 
+    /**
+     * Non-blocking comment fetch for one issue, bounded by the per-request comment scan timeout
+     */
+    private Mono<Integer> fetchKeywordCountInComments(String issueKey, String keyword) {
+        return jiraWebClient.get()
+                .uri("/rest/api/3/issue/{issueKey}/comment", issueKey)
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(Duration.ofSeconds(commentScanTimeoutSeconds))
+                .map(response -> countKeywordInComments(response, keyword));
+    }
+
+    /**
+     * Count keyword occurrences in the comments of all given issues, with at most
+     * commentScanConcurrency requests in flight. Issues whose fetch fails or times out
+     * are added to failedIssueKeys and left out of the returned map.
+     */
+    private Map<String, Integer> scanCommentsConcurrently(List<String> issueKeys, String keyword,
+                                                          List<String> failedIssueKeys) {
+        Map<String, Integer> commentOccurrences = Flux.fromIterable(issueKeys)
+                .flatMap(issueKey -> fetchKeywordCountInComments(issueKey, keyword)
+                                .map(count -> Map.entry(issueKey, count))
+                                .onErrorResume(e -> {
+                                    logger.warn("Failed to fetch comments for issue {}: {}", issueKey, e.getMessage());
+                                    synchronized (failedIssueKeys) {
+                                        failedIssueKeys.add(issueKey);
+                                    }
+                                    return Mono.empty();
+                                }),
+                        commentScanConcurrency)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .block();
+        return commentOccurrences != null ? commentOccurrences : Collections.emptyMap();
+    }
+
     /**
      * Parse global search response with detailed occurrence counting
      */
@@ -298,6 +549,17 @@ public class JiraIntegrationService {
             JsonNode issuesNode = rootNode.path("issues");
             totalCount = rootNode.path("total").asInt();
 
+            // Fetch comments for all results up front instead of one blocking call per issue
+            List<String> issueKeys = new ArrayList<>();
+            for (JsonNode issueNode : issuesNode) {
+                issueKeys.add(issueNode.path("key").asText());
+            }
+            List<String> failedCommentFetches = new ArrayList<>();
+            long commentScanStart = System.currentTimeMillis();
+            Map<String, Integer> commentOccurrencesByIssue =
+                    scanCommentsConcurrently(issueKeys, keyword, failedCommentFetches);
+            long commentScanMs = System.currentTimeMillis() - commentScanStart;
+
             for (JsonNode issueNode : issuesNode) {
                 Map<String, Object> issue = new HashMap<>();
                 String issueKey = issueNode.path("key").asText();
@@ -321,7 +583,7 @@ public class JiraIntegrationService {
                         countKeywordOccurrences(description, keyword);
 
                 // Add comment occurrences
-                int commentOccurrences = searchKeywordInComments(issueKey, keyword);
+                int commentOccurrences = commentOccurrencesByIssue.getOrDefault(issueKey, 0);
                 issueOccurrences += commentOccurrences;
 
                 issue.put("occurrences", issueOccurrences);
@@ -336,10 +598,14 @@ public class JiraIntegrationService {
             result.put("totalCount", totalCount);
             result.put("totalOccurrences", totalOccurrences);
             result.put("matchingIssues", matchingIssues);
+            result.put("failedCommentFetches", failedCommentFetches);
+            result.put("partialResults", !failedCommentFetches.isEmpty());
             result.put("searchDate", new Date());
 
-            logger.info("Global search for '{}' found {} matching issues with {} total occurrences",
-                    keyword, totalCount, totalOccurrences);
+            logger.info("Global search for '{}' found {} matching issues with {} total occurrences "
+                            + "(comments of {} issues scanned in {} ms, {} failed)",
+                    keyword, totalCount, totalOccurrences, issueKeys.size(), commentScanMs,
+                    failedCommentFetches.size());
 
         }
         catch (Exception e) {
@@ -387,11 +653,10 @@ public class JiraIntegrationService {
     /**
      * Parse Jira API response and convert to DTOs
      */
-    private List<JiraIssueDto> parseJiraResponse(String response, String sprintId) {
+    private List<JiraIssueDto> parseJiraResponse(JsonNode rootNode, String sprintId) {
         List<JiraIssueDto> issues = new ArrayList<>();
 
         try {
-            JsonNode rootNode = objectMapper.readTree(response);
             JsonNode issuesNode = rootNode.path("issues");
 
             for (JsonNode issueNode : issuesNode) {
@@ -451,6 +716,7 @@ public class JiraIntegrationService {
                 description = "";
             }
             issueDto.setDescription(description);
+            issueDto.setComments(extractCommentBodies(fields));
 
             issueDto.setSprintId(sprintId);
 
@@ -526,6 +792,87 @@ public class JiraIntegrationService {
         }
     }
 
+    /**
+     * Fetch issues matching a JQL query with just the fields the keyword index needs
+     * (summary, description, comments, type, status, priority), following nextPageToken
+     * pagination. Returns null if any page fails so callers can keep their previous state.
+     */
+    public List<JiraIssueDto> fetchIssuesForKeywordIndex(String jql) {
+        if (!jiraConfig.isConfigured()) {
+            return null;
+        }
+
+        List<JiraIssueDto> issues = new ArrayList<>();
+        String nextPageToken = null;
+
+        try {
+            do {
+                String pageToken = nextPageToken;
+                String response = jiraWebClient.get()
+                        .uri(uriBuilder -> {
+                            uriBuilder.path("/rest/api/3/search/jql")
+                                    .queryParam("jql", jql)
+                                    .queryParam("maxResults", 100)
+                                    .queryParam("fields", "summary,description,comment,issuetype,status,priority");
+                            if (pageToken != null) {
+                                uriBuilder.queryParam("nextPageToken", pageToken);
+                            }
+                            return uriBuilder.build();
+                        })
+                        .retrieve()
+                        .bodyToMono(String.class)
+                        .timeout(Duration.ofSeconds(30))
+                        .block();
+
+                JsonNode rootNode = objectMapper.readTree(response);
+                for (JsonNode issueNode : rootNode.path("issues")) {
+                    JsonNode fields = issueNode.path("fields");
+                    JiraIssueDto issueDto = new JiraIssueDto();
+                    issueDto.setJiraKey(issueNode.path("key").asText());
+                    issueDto.setSummary(fields.path("summary").asText(""));
+                    issueDto.setDescription(getTextValue(fields.path("description")));
+                    issueDto.setComments(extractCommentBodies(fields));
+                    issueDto.setIssueType(fields.path("issuetype").path("name").asText(""));
+                    issueDto.setStatus(fields.path("status").path("name").asText(""));
+                    JsonNode priorityNode = fields.path("priority");
+                    if (!priorityNode.isMissingNode() && !priorityNode.isNull()) {
+                        issueDto.setPriority(priorityNode.path("name").asText());
+                    }
+                    issues.add(issueDto);
+                }
+
+                nextPageToken = rootNode.path("isLast").asBoolean(true) ? null : rootNode.path("nextPageToken").asText(null);
+            } while (nextPageToken != null);
+
+            logger.debug("Fetched {} issues for keyword index using JQL: {}", issues.size(), jql);
+            return issues;
+
+        }
+        catch (WebClientResponseException e) {
+            logger.error("Error fetching issues for keyword index: {} - {}",
+                    e.getStatusCode(), e.getResponseBodyAsString());
+            return null;
+        }
+        catch (Exception e) {
+            logger.error("Unexpected error fetching issues for keyword index: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Plain-text bodies of the comments embedded in an issue's "comment" field
+     */
+    private List<String> extractCommentBodies(JsonNode fields) {
+        List<String> comments = new ArrayList<>();
+        for (JsonNode commentNode : fields.path("comment").path("comments")) {
+            String body = getTextValue(commentNode.path("body"));
+            if (body != null && !body.isEmpty()) {
+                comments.add(body);
+            }
+        }
+        return comments;
+    }
+
     /**
      * Extract sprint name from various possible sprint fields
      */
@@ -606,8 +953,8 @@ public class JiraIntegrationService {
                 return testCases;
             }
 
-            // Search for test cases linked to this JIRA issue
-            List<Map<String, Object>> qtestLinkedCases = qTestService.searchTestCasesLinkedToJira(jiraIssueKey);
+            // Look up test cases linked to this JIRA issue in the cached qTest catalog
+            List<Map<String, Object>> qtestLinkedCases = qTestCatalogService.findByJiraKey(jiraIssueKey);
 
             for (Map<String, Object> qtestCase : qtestLinkedCases) {
                 String testCaseId = (String) qtestCase.get("id");
@@ -848,7 +1195,7 @@ public class JiraIntegrationService {
                             .queryParam("jql", jql)
                             .queryParam("maxResults", 10) // Limit for debug
                             .queryParam("expand", "changelog")
-                            .queryParam("fields", "summary,description,issuetype,status,priority,assignee,created,updated,customfield_10020,customfield_11051")
+                            .queryParam("fields", "summary,description,comment,issuetype,status,priority,assignee,created,updated,customfield_10020,customfield_11051")
                             .build())
                     .retrieve()
                     .bodyToMono(String.class)
@@ -932,9 +1279,21 @@ public class JiraIntegrationService {
             if (changelogNode.isMissingNode() || !changelogNode.isArray()) {
                 return testCases;
             }
+            testCases = extractQTestLinkedFromHistories(changelogNode, issueNode.path("fields").path("summary").asText(""));
+        }
+        catch (Exception e) {
+            logger.debug("Failed to extract qTest links from changelog: {}", e.getMessage());
+        }
+        return testCases;
+    }
 
-            // Get Jira issue summary for appending to TC titles
-            String jiraSummary = issueNode.path("fields").path("summary").asText("");
+    /**
+     * Extract qTest links (TC-xxx) from changelog histories, as embedded in an issue or
+     * returned by the issue changelog endpoint
+     */
+    private List<JiraTestCaseDto> extractQTestLinkedFromHistories(JsonNode changelogNode, String jiraSummary) {
+        List<JiraTestCaseDto> testCases = new ArrayList<>();
+        try {
             if (jiraSummary == null) {
                 jiraSummary = "";
             }
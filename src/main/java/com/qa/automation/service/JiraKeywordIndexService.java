@@ -0,0 +1,348 @@
+package com.qa.automation.service;
+
+import com.qa.automation.config.JiraConfig;
+import com.qa.automation.dto.JiraIssueDto;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * In-memory keyword index over Jira issue summaries, descriptions and comments.
+ * Sprint sync feeds it, and global keyword searches are answered from it. Before answering,
+ * only the issues updated in Jira since the scope (project or project/sprint) was last
+ * indexed are fetched again.
+ */
+@Service
+public class JiraKeywordIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JiraKeywordIndexService.class);
+
+    private static final int GRAM_LENGTH = 3;
+
+    @Autowired
+    private JiraIntegrationService jiraIntegrationService;
+
+    @Autowired
+    private JiraConfig jiraConfig;
+
+    @Value("${jira.keyword-index.min-refresh-seconds:30}")
+    private long minRefreshSeconds;
+
+    private final ReentrantReadWriteLock indexLock = new ReentrantReadWriteLock();
+    private final Map<String, IndexedIssue> issuesByKey = new HashMap<>();
+    private final Map<String, Set<String>> issueKeysByTrigram = new HashMap<>();
+    private final Map<String, Instant> lastIndexedAtByScope = new ConcurrentHashMap<>();
+    // One monitor per scope, so a slow Jira fetch only holds up searches in the same scope
+    private final Map<String, Object> refreshLocksByScope = new ConcurrentHashMap<>();
+
+    /**
+     * Index the issues fetched by a sprint sync. The sprint's membership is replaced, so
+     * issues that left the sprint no longer match sprint-scoped searches. A null list
+     * (failed fetch) leaves the index and the scope's index time untouched.
+     */
+    public void indexSprintIssues(String jiraProjectKey, String sprintId, List<JiraIssueDto> issues, Instant fetchStartedAt) {
+        if (issues == null) {
+            return;
+        }
+        String projectKey = resolveProjectKey(jiraProjectKey);
+        indexLock.writeLock().lock();
+        try {
+            Set<String> fetchedKeys = new HashSet<>();
+            for (JiraIssueDto issue : issues) {
+                fetchedKeys.add(issue.getJiraKey());
+            }
+            for (IndexedIssue indexed : issuesByKey.values()) {
+                if (!fetchedKeys.contains(indexed.key)) {
+                    indexed.sprintIds.remove(sprintId);
+                }
+            }
+            for (JiraIssueDto issue : issues) {
+                putIssue(issue, sprintId);
+            }
+        }
+        finally {
+            indexLock.writeLock().unlock();
+        }
+        lastIndexedAtByScope.put(scopeKey(projectKey, sprintId), fetchStartedAt);
+        logger.info("Indexed {} issues of sprint {} for keyword search ({} issues in index)",
+                issues.size(), sprintId, issuesByKey.size());
+    }
+
+    /**
+     * Keyword search answered from the index, in the same shape as
+     * JiraIntegrationService.searchKeywordGlobally. Falls back to the live search
+     * when the scope has never been indexed and cannot be fetched.
+     */
+    public Map<String, Object> search(String keyword, String jiraProjectKey, String sprintId) {
+        if (keyword == null || keyword.trim().isEmpty()) {
+            return jiraIntegrationService.searchKeywordGlobally(keyword, jiraProjectKey, sprintId);
+        }
+
+        long start = System.currentTimeMillis();
+        String projectKey = resolveProjectKey(jiraProjectKey);
+        String normalizedSprintId = (sprintId != null && !sprintId.trim().isEmpty()) ? sprintId.trim() : null;
+        String scope = scopeKey(projectKey, normalizedSprintId);
+
+        int refreshedIssues = refreshScope(projectKey, normalizedSprintId);
+        if (refreshedIssues < 0 && !lastIndexedAtByScope.containsKey(scope)) {
+            logger.warn("Keyword index unavailable for scope {}, falling back to live Jira search", scope);
+            return jiraIntegrationService.searchKeywordGlobally(keyword, jiraProjectKey, sprintId);
+        }
+
+        String lowerKeyword = keyword.toLowerCase(Locale.ROOT);
+        List<Map<String, Object>> matchingIssues = new ArrayList<>();
+        int totalOccurrences = 0;
+
+        indexLock.readLock().lock();
+        try {
+            for (IndexedIssue issue : candidates(lowerKeyword)) {
+                if (!issue.inScope(projectKey, normalizedSprintId)) {
+                    continue;
+                }
+                int occurrences = issue.countOccurrences(lowerKeyword);
+                if (occurrences > 0) {
+                    matchingIssues.add(issue.toResultMap(occurrences));
+                    totalOccurrences += occurrences;
+                }
+            }
+        }
+        finally {
+            indexLock.readLock().unlock();
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("keyword", keyword);
+        result.put("totalCount", matchingIssues.size());
+        result.put("totalOccurrences", totalOccurrences);
+        result.put("matchingIssues", matchingIssues);
+        result.put("searchDate", new Date());
+        result.put("source", "index");
+        result.put("refreshedIssues", Math.max(refreshedIssues, 0));
+        result.put("stale", refreshedIssues < 0);
+        result.put("lastIndexedAt", lastIndexedAtByScope.get(scope));
+
+        logger.info("Index search for '{}' in scope {} found {} matching issues with {} occurrences in {} ms",
+                keyword, scope, matchingIssues.size(), totalOccurrences, System.currentTimeMillis() - start);
+        return result;
+    }
+
+    /**
+     * Bring a scope up to date: a full fetch the first time, afterwards only issues updated
+     * since the last index time. Returns the number of re-indexed issues, or -1 on failure.
+     */
+    private int refreshScope(String projectKey, String sprintId) {
+        String scope = scopeKey(projectKey, sprintId);
+        synchronized (refreshLocksByScope.computeIfAbsent(scope, key -> new Object())) {
+            return refreshScopeLocked(scope, projectKey, sprintId);
+        }
+    }
+
+    // Caller holds the scope's refresh monitor
+    private int refreshScopeLocked(String scope, String projectKey, String sprintId) {
+        Instant lastIndexedAt = lastIndexedAtByScope.get(scope);
+        Instant now = Instant.now();
+
+        if (lastIndexedAt != null && lastIndexedAt.plusSeconds(minRefreshSeconds).isAfter(now)) {
+            return 0;
+        }
+
+        String jql = sprintId != null
+                ? String.format("project = %s AND sprint = %s", projectKey, sprintId)
+                : String.format("project = %s", projectKey);
+        if (lastIndexedAt != null) {
+            // Relative JQL dates avoid depending on the Jira user's time zone; round up for overlap
+            long minutesSince = Duration.between(lastIndexedAt, now).toMinutes() + 1;
+            jql += String.format(" AND updated >= -%dm", minutesSince);
+        }
+
+        List<JiraIssueDto> changedIssues = jiraIntegrationService.fetchIssuesForKeywordIndex(jql);
+        if (changedIssues == null) {
+            return -1;
+        }
+
+        indexLock.writeLock().lock();
+        try {
+            for (JiraIssueDto issue : changedIssues) {
+                putIssue(issue, sprintId);
+            }
+        }
+        finally {
+            indexLock.writeLock().unlock();
+        }
+        lastIndexedAtByScope.put(scope, now);
+
+        logger.debug("Refreshed keyword index scope {}: {} issues re-indexed", scope, changedIssues.size());
+        return changedIssues.size();
+    }
+
+    /**
+     * Issues that can contain the keyword. For keywords of at least three characters
+     * this is the intersection of the trigram posting lists; matches are verified by counting.
+     */
+    private Collection<IndexedIssue> candidates(String lowerKeyword) {
+        if (lowerKeyword.length() < GRAM_LENGTH) {
+            return issuesByKey.values();
+        }
+
+        Set<String> candidateKeys = null;
+        for (String trigram : trigrams(lowerKeyword)) {
+            Set<String> postings = issueKeysByTrigram.get(trigram);
+            if (postings == null) {
+                return Collections.emptyList();
+            }
+            if (candidateKeys == null) {
+                candidateKeys = new HashSet<>(postings);
+            }
+            else {
+                candidateKeys.retainAll(postings);
+            }
+            if (candidateKeys.isEmpty()) {
+                return Collections.emptyList();
+            }
+        }
+
+        List<IndexedIssue> candidates = new ArrayList<>();
+        for (String key : candidateKeys) {
+            candidates.add(issuesByKey.get(key));
+        }
+        return candidates;
+    }
+
+    // Caller must hold the write lock
+    private void putIssue(JiraIssueDto issueDto, String sprintId) {
+        IndexedIssue previous = issuesByKey.get(issueDto.getJiraKey());
+        if (previous != null) {
+            removePostings(previous);
+        }
+
+        IndexedIssue issue = new IndexedIssue(issueDto);
+        if (previous != null) {
+            issue.sprintIds.addAll(previous.sprintIds);
+        }
+        if (sprintId != null) {
+            issue.sprintIds.add(sprintId);
+        }
+
+        issuesByKey.put(issue.key, issue);
+        for (String text : issue.lowerTexts) {
+            for (String trigram : trigrams(text)) {
+                issueKeysByTrigram.computeIfAbsent(trigram, gram -> new HashSet<>()).add(issue.key);
+            }
+        }
+    }
+
+    private void removePostings(IndexedIssue issue) {
+        for (String text : issue.lowerTexts) {
+            for (String trigram : trigrams(text)) {
+                Set<String> postings = issueKeysByTrigram.get(trigram);
+                if (postings != null) {
+                    postings.remove(issue.key);
+                    if (postings.isEmpty()) {
+                        issueKeysByTrigram.remove(trigram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return trigrams;
+    }
+
+    private String resolveProjectKey(String jiraProjectKey) {
+        return (jiraProjectKey != null && !jiraProjectKey.trim().isEmpty())
+                ? jiraProjectKey.trim()
+                : jiraConfig.getJiraProjectKey();
+    }
+
+    private static String scopeKey(String projectKey, String sprintId) {
+        return sprintId != null ? projectKey + "/" + sprintId : projectKey;
+    }
+
+    /**
+     * One indexed issue; texts are kept lower-cased so searches only lower-case the keyword
+     */
+    private static class IndexedIssue {
+        final String key;
+        final String summary;
+        final String issueType;
+        final String status;
+        final String priority;
+        final List<String> lowerTexts = new ArrayList<>();
+        final Set<String> sprintIds = ConcurrentHashMap.newKeySet();
+
+        IndexedIssue(JiraIssueDto dto) {
+            this.key = dto.getJiraKey();
+            this.summary = dto.getSummary();
+            this.issueType = dto.getIssueType();
+            this.status = dto.getStatus();
+            this.priority = dto.getPriority();
+            addText(dto.getSummary());
+            addText(dto.getDescription());
+            if (dto.getComments() != null) {
+                for (String comment : dto.getComments()) {
+                    addText(comment);
+                }
+            }
+        }
+
+        private void addText(String text) {
+            if (text != null && !text.isEmpty()) {
+                lowerTexts.add(text.toLowerCase(Locale.ROOT));
+            }
+        }
+
+        boolean inScope(String projectKey, String sprintId) {
+            if (!key.startsWith(projectKey + "-")) {
+                return false;
+            }
+            return sprintId == null || sprintIds.contains(sprintId);
+        }
+
+        // Non-overlapping matches per text, same as the live Jira search counting
+        int countOccurrences(String lowerKeyword) {
+            int count = 0;
+            for (String text : lowerTexts) {
+                int index = 0;
+                while ((index = text.indexOf(lowerKeyword, index)) != -1) {
+                    count++;
+                    index += lowerKeyword.length();
+                }
+            }
+            return count;
+        }
+
+        Map<String, Object> toResultMap(int occurrences) {
+            Map<String, Object> issue = new HashMap<>();
+            issue.put("key", key);
+            issue.put("summary", summary);
+            issue.put("issueType", issueType);
+            issue.put("status", status);
+            if (priority != null) {
+                issue.put("priority", priority);
+            }
+            issue.put("occurrences", occurrences);
+            return issue;
+        }
+    }
+}
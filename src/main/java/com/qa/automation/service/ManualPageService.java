@@ -1,16 +1,23 @@
 package com.qa.automation.service;
 
 import com.qa.automation.config.JiraConfig;
+import com.qa.automation.config.SqlStatementCounter;
 import com.qa.automation.dto.JiraIssueDto;
 import com.qa.automation.dto.JiraTestCaseDto;
+import com.qa.automation.dto.KeysetPage;
 import com.qa.automation.model.*;
 import com.qa.automation.repository.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -45,46 +52,50 @@ public class ManualPageService {
     private DomainRepository domainRepository;
 
     @Autowired
-    private QTestService qTestService;
+    private QTestCatalogService qTestCatalogService;
+
+    @Autowired
+    private JiraKeywordIndexService jiraKeywordIndexService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TesterService testerService;
 
     @Autowired
     private DataInitializationService dataInitializationService;
 
+    @Autowired
+    private NdjsonExportService ndjsonExportService;
+
+    @Value("${api.page.max-size:500}")
+    private int maxPageSize;
+
     /**
      * ENHANCED: Fetch and sync issues from a specific sprint with domain and project mapping
      */
     public List<JiraIssueDto> fetchAndSyncSprintIssues(String sprintId, String jiraProjectKey, String jiraBoardId, Long domainId, Long projectId) {
         logger.info("Fetching and syncing issues from sprint: {} with domain {} and project {} mapping",
                 sprintId, domainId, projectId);
+        SqlStatementCounter.start();
 
         // Fetch issues from Jira with optional project configuration
-        List<JiraIssueDto> jiraIssues = jiraIntegrationService.fetchIssuesFromSprint(
-                sprintId, jiraProjectKey, jiraBoardId);
+        List<JiraIssueDto> jiraIssues = fetchSprintIssuesAndIndex(sprintId, jiraProjectKey, jiraBoardId);
 
-        // Find domain and project for mapping
-        Domain selectedDomain = null;
-        Project selectedProject = null;
-        
-        if (domainId != null) {
-            selectedDomain = domainRepository.findById(domainId).orElse(null);
-        }
-        
-        if (projectId != null) {
-            selectedProject = projectRepository.findById(projectId).orElse(null);
+        // Resolve domain and project for mapping once for the whole sprint
+        Domain selectedDomain = domainId != null ? domainRepository.findById(domainId).orElse(null) : null;
+        Project selectedProject = projectId != null ? projectService.getProjectById(projectId) : null;
+        if (projectId != null && selectedProject == null) {
+            logger.warn("Selected project with ID {} does not exist, skipping project mapping", projectId);
         }
 
         // Sync with database and apply mappings
-        List<JiraIssueDto> syncedIssues = new ArrayList<>();
-        for (JiraIssueDto issueDto : jiraIssues) {
-            try {
-                JiraIssueDto syncedIssue = syncIssueWithDomainAndProjectMapping(issueDto, selectedDomain, selectedProject);
-                syncedIssues.add(syncedIssue);
-            } catch (Exception e) {
-                logger.error("Error syncing issue {}: {}", issueDto.getJiraKey(), e.getMessage(), e);
-            }
-        }
+        List<JiraIssueDto> syncedIssues = syncIssuesWithDatabase(jiraIssues, selectedDomain, selectedProject, null);
 
-        logger.info("Synced {} issues for sprint {} with domain/project mapping", syncedIssues.size(), sprintId);
+        long sqlStatements = SqlStatementCounter.stop();
+        logger.info("Synced {} issues for sprint {} with domain/project mapping using {} SQL statements",
+                syncedIssues.size(), sprintId, sqlStatements);
         return syncedIssues;
     }
 
@@ -92,28 +103,58 @@ public class ManualPageService {
      * ENHANCED: Fetch and sync issues from a specific sprint with optional project configuration
      */
     public List<JiraIssueDto> fetchAndSyncSprintIssues(String sprintId, String jiraProjectKey, String jiraBoardId) {
+        return fetchAndSyncSprintIssues(sprintId, jiraProjectKey, jiraBoardId,
+                new SyncJob(SyncJobService.TYPE_SPRINT_SYNC, sprintId));
+    }
+
+    /**
+     * Sync job target for a sprint: project key (the configured default when none is passed) and sprint id,
+     * so manual and scheduled syncs of the same sprint collapse into one job
+     */
+    public String sprintSyncTarget(String sprintId, String jiraProjectKey) {
+        String projectKey = jiraProjectKey != null && !jiraProjectKey.isEmpty() ? jiraProjectKey : jiraConfig.getJiraProjectKey();
+        return projectKey + "/" + sprintId;
+    }
+
+    /**
+     * Sprint sync that reports phase and per-issue progress to the given background sync job
+     */
+    public List<JiraIssueDto> fetchAndSyncSprintIssues(String sprintId, String jiraProjectKey, String jiraBoardId, SyncJob syncJob) {
         logger.info("Fetching and syncing issues from sprint: {} (Project: {}, Board: {})",
                 sprintId, jiraProjectKey, jiraBoardId);
 
+        SqlStatementCounter.start();
+
         // Fetch issues from Jira with optional project configuration
-        List<JiraIssueDto> jiraIssues = jiraIntegrationService.fetchIssuesFromSprint(
-                sprintId, jiraProjectKey, jiraBoardId);
+        syncJob.setPhase("FETCHING_ISSUES");
+        List<JiraIssueDto> jiraIssues = fetchSprintIssuesAndIndex(sprintId, jiraProjectKey, jiraBoardId);
 
         // Sync with database
-        List<JiraIssueDto> syncedIssues = new ArrayList<>();
-        for (JiraIssueDto issueDto : jiraIssues) {
-            try {
-                JiraIssueDto syncedIssue = syncIssueWithDatabase(issueDto);
-                syncedIssues.add(syncedIssue);
-            } catch (Exception e) {
-                logger.error("Error syncing issue {}: {}", issueDto.getJiraKey(), e.getMessage(), e);
-            }
-        }
+        syncJob.setTotalItems(jiraIssues.size());
+        syncJob.setPhase("SYNCING_ISSUES");
+        List<JiraIssueDto> syncedIssues = syncIssuesWithDatabase(jiraIssues, null, null, syncJob);
 
-        logger.info("Synced {} issues for sprint {}", syncedIssues.size(), sprintId);
+        long sqlStatements = SqlStatementCounter.stop();
+        syncJob.setSqlStatements(sqlStatements);
+        logger.info("Synced {} issues for sprint {} using {} SQL statements", syncedIssues.size(), sprintId, sqlStatements);
         return syncedIssues;
     }
 
+    /**
+     * Fetch a sprint's issues from Jira and feed them to the keyword index. A failed fetch throws
+     * instead of syncing an empty sprint, so neither the database nor the index loses its issues.
+     */
+    private List<JiraIssueDto> fetchSprintIssuesAndIndex(String sprintId, String jiraProjectKey, String jiraBoardId) {
+        Instant fetchStartedAt = Instant.now();
+        List<JiraIssueDto> jiraIssues = jiraIntegrationService.fetchIssuesFromSprint(
+                sprintId, jiraProjectKey, jiraBoardId);
+        if (jiraIssues == null) {
+            throw new RuntimeException("Failed to fetch issues of sprint " + sprintId + " from Jira");
+        }
+        jiraKeywordIndexService.indexSprintIssues(jiraProjectKey, sprintId, jiraIssues, fetchStartedAt);
+        return jiraIssues;
+    }
+
     public List<JiraIssueDto> getSprintIssues(String sprintId) {
         List<JiraIssue> issues = jiraIssueRepository.findBySprintIdWithLinkedTestCases(sprintId);
         return issues.stream()
@@ -121,6 +162,30 @@ public class ManualPageService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Keyset page of a sprint's issues ordered by id, starting after the given id (null for the first page)
+     */
+    public KeysetPage<JiraIssueDto> getSprintIssuesPage(String sprintId, Long afterId, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        KeysetPage<Long> ids = KeysetPage.fromLookahead(
+                jiraIssueRepository.findIdPageBySprintId(sprintId, afterId != null ? afterId : 0L, PageRequest.of(0, pageSize + 1)),
+                pageSize, id -> id);
+        List<JiraIssueDto> issues = ids.getItems().isEmpty()
+                ? new ArrayList<>()
+                : jiraIssueRepository.findByIdInWithLinkedTestCases(ids.getItems()).stream()
+                        .map(this::convertToDto)
+                        .collect(Collectors.toList());
+        return new KeysetPage<>(issues, ids.getNextCursor());
+    }
+
+    /**
+     * Write a sprint's issues as NDJSON in keyset pages, each loaded with its test cases by one fetch join
+     */
+    @Transactional(readOnly = true)
+    public long exportSprintIssues(String sprintId, OutputStream out) throws IOException {
+        return ndjsonExportService.writePages(cursor -> getSprintIssuesPage(sprintId, cursor, maxPageSize), out);
+    }
+
     /**
      * Update test case automation flags
      */
@@ -243,7 +308,7 @@ public class ManualPageService {
 
         // Set project with validation
         if (projectId != null) {
-            Optional<Project> optionalProject = projectRepository.findById(projectId);
+            Optional<Project> optionalProject = Optional.ofNullable(projectService.getProjectById(projectId));
             if (optionalProject.isPresent()) {
                 testCase.setProject(optionalProject.get());
                 if (optionalProject.get().getDomain() != null) {
@@ -258,7 +323,7 @@ public class ManualPageService {
 
         // Set tester with validation
         if (testerId != null) {
-            Optional<Tester> optionalTester = testerRepository.findById(testerId);
+            Optional<Tester> optionalTester = Optional.ofNullable(testerService.getTesterById(testerId));
             if (optionalTester.isPresent()) {
                 testCase.setAssignedTester(optionalTester.get());
                 logger.debug("Assigned test case {} to tester: {}", testCaseId, optionalTester.get().getName());
@@ -275,67 +340,78 @@ public class ManualPageService {
     // Private helper methods
 
     /**
-     * Sync Jira issue with database and apply domain/project mapping
+     * Set-based sync of fetched issues: existing issues and their linked test cases are loaded with
+     * one IN query, diffed in memory and flushed once so Hibernate can batch the writes.
+     * Optionally applies the selected domain/project mapping to every linked test case.
      */
-    private JiraIssueDto syncIssueWithDomainAndProjectMapping(JiraIssueDto issueDto, Domain selectedDomain, Project selectedProject) {
-        JiraIssueDto syncedIssue = syncIssueWithDatabase(issueDto);
-        
-        // Apply domain and project mapping to linked test cases
-        if ((selectedDomain != null || selectedProject != null) && syncedIssue.getLinkedTestCases() != null) {
-            for (JiraTestCaseDto testCaseDto : syncedIssue.getLinkedTestCases()) {
-                if (testCaseDto.getId() != null) {
-                    Optional<JiraTestCase> optionalTestCase = jiraTestCaseRepository.findById(testCaseDto.getId());
-                    if (optionalTestCase.isPresent()) {
-                        JiraTestCase testCase = optionalTestCase.get();
-                        
-                                                 // Apply project mapping with validation
-                         if (selectedProject != null) {
-                             // Validate that the project exists in database
-                             Optional<Project> validProject = projectRepository.findById(selectedProject.getId());
-                             if (validProject.isPresent()) {
-                                 testCase.setProject(validProject.get());
-                                 // Set domain from project's domain
-                                 if (validProject.get().getDomain() != null) {
-                                     testCase.setDomainMapped(validProject.get().getDomain().getName());
-                                 }
-                                                           } else {
-                                  logger.warn("Selected project with ID {} does not exist, using default project for test case: {}", 
-                                          selectedProject.getId(), testCase.getQtestTitle());
-                                  // Use default project as fallback
-                                  Project defaultProject = dataInitializationService.getDefaultProject();
-                                  testCase.setProject(defaultProject);
-                                  if (defaultProject.getDomain() != null) {
-                                      testCase.setDomainMapped(defaultProject.getDomain().getName());
-                                  }
-                              }
-                         } else if (selectedDomain != null) {
-                             // If only domain is selected, set domain mapping
-                             testCase.setDomainMapped(selectedDomain.getName());
-                         }
-                         
-                         try {
-                             jiraTestCaseRepository.save(testCase);
-                         } catch (Exception e) {
-                             logger.error("Failed to save test case {}: {}", testCase.getQtestTitle(), e.getMessage());
-                             // Continue processing other test cases
-                         }
-                        
-                        // Update DTO
-                        if (selectedProject != null) {
-                            testCaseDto.setProjectId(selectedProject.getId());
-                            testCaseDto.setProjectName(selectedProject.getName());
-                        }
-                        if (selectedDomain != null) {
-                            testCaseDto.setDomainMapped(selectedDomain.getName());
-                        }
-                        
-                        logger.debug("Applied domain/project mapping to test case: {}", testCase.getQtestTitle());
-                    }
+    private List<JiraIssueDto> syncIssuesWithDatabase(List<JiraIssueDto> issueDtos, Domain selectedDomain,
+                                                      Project selectedProject, SyncJob syncJob) {
+        if (issueDtos.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<String> jiraKeys = issueDtos.stream().map(JiraIssueDto::getJiraKey).collect(Collectors.toSet());
+        Map<String, JiraIssue> existingIssues = new HashMap<>();
+        for (JiraIssue issue : jiraIssueRepository.findByJiraKeyInWithLinkedTestCases(jiraKeys)) {
+            existingIssues.put(issue.getJiraKey(), issue);
+        }
+
+        List<JiraIssue> issues = new ArrayList<>();
+        for (JiraIssueDto issueDto : issueDtos) {
+            try {
+                JiraIssue issue = existingIssues.get(issueDto.getJiraKey());
+                if (issue != null) {
+                    updateIssueFromDto(issue, issueDto);
+                } else {
+                    issue = createIssueFromDto(issueDto);
+                }
+
+                // Sync linked test cases
+                List<JiraTestCaseDto> tcOnly = issueDto.getLinkedTestCases() == null ? Collections.emptyList() : issueDto.getLinkedTestCases().stream()
+                        .filter(dto -> dto.getQtestId() != null && dto.getQtestId().matches("(?i)TC-\\d+"))
+                        .collect(Collectors.toList());
+                syncLinkedTestCases(issue, tcOnly);
+
+                if (selectedDomain != null || selectedProject != null) {
+                    applyDomainAndProjectMapping(issue, selectedDomain, selectedProject);
+                }
+
+                issues.add(issue);
+                if (syncJob != null) {
+                    syncJob.itemProcessed();
+                }
+            } catch (Exception e) {
+                logger.error("Error syncing issue {}: {}", issueDto.getJiraKey(), e.getMessage(), e);
+                if (syncJob != null) {
+                    syncJob.itemFailed("Error syncing issue " + issueDto.getJiraKey() + ": " + e.getMessage());
                 }
             }
         }
-        
-        return syncedIssue;
+
+        // One flush for the whole sprint so updates go out in JDBC batches
+        List<JiraIssue> savedIssues = jiraIssueRepository.saveAll(issues);
+        jiraIssueRepository.flush();
+
+        return savedIssues.stream().map(this::convertToDto).collect(Collectors.toList());
+    }
+
+    /**
+     * Apply the selected project (and its domain) or domain to all test cases linked to an issue
+     */
+    private void applyDomainAndProjectMapping(JiraIssue issue, Domain selectedDomain, Project selectedProject) {
+        for (JiraTestCase testCase : issue.getLinkedTestCases()) {
+            if (selectedProject != null) {
+                testCase.setProject(selectedProject);
+                // Set domain from project's domain
+                if (selectedProject.getDomain() != null) {
+                    testCase.setDomainMapped(selectedProject.getDomain().getName());
+                }
+            } else if (selectedDomain != null) {
+                // If only domain is selected, set domain mapping
+                testCase.setDomainMapped(selectedDomain.getName());
+            }
+            logger.debug("Applied domain/project mapping to test case: {}", testCase.getQtestTitle());
+        }
     }
 
     /**
@@ -356,7 +432,7 @@ public class ManualPageService {
                 
                 // Check if project reference is valid
                 if (testCase.getProject() != null) {
-                    Optional<Project> projectCheck = projectRepository.findById(testCase.getProject().getId());
+                    Optional<Project> projectCheck = Optional.ofNullable(projectService.getProjectById(testCase.getProject().getId()));
                     if (projectCheck.isEmpty()) {
                         logger.warn("Test case {} has invalid project reference, fixing with default project", 
                                 testCase.getQtestTitle());
@@ -368,7 +444,7 @@ public class ManualPageService {
                 
                 // Check if tester reference is valid
                 if (testCase.getAssignedTester() != null) {
-                    Optional<Tester> testerCheck = testerRepository.findById(testCase.getAssignedTester().getId());
+                    Optional<Tester> testerCheck = Optional.ofNullable(testerService.getTesterById(testCase.getAssignedTester().getId()));
                     if (testerCheck.isEmpty()) {
                         logger.warn("Test case {} has invalid tester reference, fixing with default tester", 
                                 testCase.getQtestTitle());
@@ -395,33 +471,6 @@ public class ManualPageService {
         }
     }
 
-    /**
-     * Sync Jira issue with database
-     */
-    private JiraIssueDto syncIssueWithDatabase(JiraIssueDto issueDto) {
-        Optional<JiraIssue> existingIssue = jiraIssueRepository.findByJiraKey(issueDto.getJiraKey());
-
-        JiraIssue issue;
-        if (existingIssue.isPresent()) {
-            // Update existing issue
-            issue = existingIssue.get();
-            updateIssueFromDto(issue, issueDto);
-        } else {
-            // Create new issue
-            issue = createIssueFromDto(issueDto);
-        }
-
-        JiraIssue savedIssue = jiraIssueRepository.save(issue);
-
-        // Sync linked test cases
-        List<JiraTestCaseDto> tcOnly = issueDto.getLinkedTestCases() == null ? Collections.emptyList() : issueDto.getLinkedTestCases().stream()
-                .filter(dto -> dto.getQtestId() != null && dto.getQtestId().matches("(?i)TC-\\d+"))
-                .collect(Collectors.toList());
-        syncLinkedTestCases(savedIssue, tcOnly);
-
-        return convertToDto(savedIssue);
-    }
-
     /**
      * Update existing issue from DTO
      */
@@ -434,6 +483,7 @@ public class ManualPageService {
         issue.setIssueType(issueDto.getIssueType());
         issue.setStatus(issueDto.getStatus());
         issue.setPriority(issueDto.getPriority());
+        issue.setJiraUpdatedAt(issueDto.getJiraUpdatedAt());
     }
 
     /**
@@ -450,6 +500,7 @@ public class ManualPageService {
         issue.setIssueType(issueDto.getIssueType());
         issue.setStatus(issueDto.getStatus());
         issue.setPriority(issueDto.getPriority());
+        issue.setJiraUpdatedAt(issueDto.getJiraUpdatedAt());
         return issue;
     }
 
@@ -497,50 +548,33 @@ public class ManualPageService {
         }
 
         try {
-            // Check if QTest is authenticated before attempting to search
-            if (!qTestService.isAuthenticated() && !qTestService.testConnection()) {
-                logger.debug("QTest authentication not available, skipping enrichment for test case: {}", qtestTitle);
-                return;
-            }
+            // Served from the cached qTest catalog instead of a search plus a detail call per test case
+            Map<String, Object> qtestData = qTestCatalogService.findTestCase(testCase.getQtestId(), qtestTitle);
 
-            // Search for the test case in QTest by title
-            List<Map<String, Object>> searchResults = qTestService.searchTestCasesByTitle(qtestTitle);
-            
-            if (!searchResults.isEmpty()) {
-                // Get the first matching test case
-                Map<String, Object> qtestData = searchResults.get(0);
+            if (qtestData != null) {
                 String testCaseId = (String) qtestData.get("id");
-                
-                if (testCaseId != null) {
-                    // Fetch detailed test case information
-                    Map<String, Object> detailedTestCase = qTestService.fetchTestCaseDetails(testCaseId);
-                    
-                    if (!detailedTestCase.isEmpty()) {
-                        // Set QTest ID
-                        testCase.setQtestId(testCaseId);
-                        
-                        // Set assignee from QTest
-                        String assignee = (String) detailedTestCase.get("assignee");
-                        if (assignee != null && !assignee.isEmpty()) {
-                            testCase.setQtestAssignee(assignee);
-                        }
-                        
-                        // Set priority from QTest
-                        String priority = (String) detailedTestCase.get("priority");
-                        if (priority != null && !priority.isEmpty()) {
-                            testCase.setQtestPriority(priority);
-                        }
-                        
-                        // Set automation status from QTest
-                        String automationStatus = (String) detailedTestCase.get("automationStatus");
-                        if (automationStatus != null && !automationStatus.isEmpty()) {
-                            testCase.setQtestAutomationStatus(automationStatus);
-                        }
-                        
-                        logger.debug("Enriched test case '{}' with QTest data: assignee={}, priority={}, automationStatus={}",
-                                qtestTitle, assignee, priority, automationStatus);
-                    }
+                testCase.setQtestId(testCaseId);
+
+                // Set assignee from QTest
+                String assignee = (String) qtestData.get("assignee");
+                if (assignee != null && !assignee.isEmpty()) {
+                    testCase.setQtestAssignee(assignee);
+                }
+
+                // Set priority from QTest
+                String priority = (String) qtestData.get("priority");
+                if (priority != null && !priority.isEmpty()) {
+                    testCase.setQtestPriority(priority);
+                }
+
+                // Set automation status from QTest
+                String automationStatus = (String) qtestData.get("automationStatus");
+                if (automationStatus != null && !automationStatus.isEmpty()) {
+                    testCase.setQtestAutomationStatus(automationStatus);
                 }
+
+                logger.debug("Enriched test case '{}' with QTest data: assignee={}, priority={}, automationStatus={}",
+                        qtestTitle, assignee, priority, automationStatus);
             } else {
                 logger.debug("No matching QTest test case found for title: {}", qtestTitle);
             }
@@ -587,27 +621,25 @@ public class ManualPageService {
                 .filter(tc -> tc.getTitle().equals(jiraTestCase.getQtestTitle()))
                 .collect(Collectors.toList());
 
-        TestCase testCase;
         if (!existingTestCases.isEmpty()) {
             // Update existing test case
-            testCase = existingTestCases.get(0);
-            testCase.setStatus("Ready to Automate");
-        } else {
-            // Create new test case
-            testCase = new TestCase();
-            testCase.setTitle(jiraTestCase.getQtestTitle());
-            testCase.setDescription("Test case imported from Jira issue: " + jiraTestCase.getJiraIssue().getJiraKey());
-            
-            // Use QTest priority if available, otherwise default to Medium
-            String priority = (jiraTestCase.getQtestPriority() != null && !jiraTestCase.getQtestPriority().isEmpty()) 
-                ? jiraTestCase.getQtestPriority() : "Medium";
-            testCase.setPriority(priority);
-            
-            testCase.setStatus("Ready to Automate");
-            testCase.setProject(jiraTestCase.getProject());
-            testCase.setTester(jiraTestCase.getAssignedTester());
+            return testCaseService.updateTestCaseStatus(existingTestCases.get(0), "Ready to Automate");
         }
 
+        // Create new test case
+        TestCase testCase = new TestCase();
+        testCase.setTitle(jiraTestCase.getQtestTitle());
+        testCase.setDescription("Test case imported from Jira issue: " + jiraTestCase.getJiraIssue().getJiraKey());
+        
+        // Use QTest priority if available, otherwise default to Medium
+        String priority = (jiraTestCase.getQtestPriority() != null && !jiraTestCase.getQtestPriority().isEmpty()) 
+            ? jiraTestCase.getQtestPriority() : "Medium";
+        testCase.setPriority(priority);
+        
+        testCase.setStatus("Ready to Automate");
+        testCase.setProject(jiraTestCase.getProject());
+        testCase.setTester(jiraTestCase.getAssignedTester());
+
         return testCaseService.createTestCase(testCase);
     }
 
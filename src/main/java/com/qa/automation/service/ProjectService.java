@@ -1,10 +1,13 @@
 package com.qa.automation.service;
 
+import com.qa.automation.config.CacheConfig;
 import com.qa.automation.model.Domain;
 import com.qa.automation.model.Project;
 import com.qa.automation.repository.ProjectRepository;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -20,6 +23,7 @@ public class ProjectService {
         return projectRepository.findAll();
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS_CACHE, allEntries = true)
     public Project createProject(Project project) {
         // Validate that domain exists
         if (project.getDomain() == null || project.getDomain().getId() == null) {
@@ -35,10 +39,15 @@ public class ProjectService {
         return projectRepository.save(project);
     }
 
+    /**
+     * Cached lookup used on request and sync paths; evicted by every project or domain write
+     */
+    @Cacheable(cacheNames = CacheConfig.PROJECTS_CACHE, key = "#id", unless = "#result == null")
     public Project getProjectById(Long id) {
         return projectRepository.findById(id).orElse(null);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS_CACHE, allEntries = true)
     public Project updateProject(Long id, Project project) {
         if (projectRepository.existsById(id)) {
             // Validate domain if provided
@@ -56,6 +65,7 @@ public class ProjectService {
         return null;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PROJECTS_CACHE, allEntries = true)
     public boolean deleteProject(Long id) {
         if (projectRepository.existsById(id)) {
             projectRepository.deleteById(id);
@@ -0,0 +1,305 @@
+package com.qa.automation.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.qa.automation.config.JiraConfig;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * In-memory copy of the qTest project's test case catalog. The catalog is paged in once, indexed by id,
+ * pid (TC-123), normalized title and linked Jira key, and then refreshed incrementally by last-modified date,
+ * so lookups during sprint sync no longer hit qTest per test case.
+ */
+@Service
+public class QTestCatalogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(QTestCatalogService.class);
+
+    private static final Pattern JIRA_KEY_PATTERN = Pattern.compile("\\b[A-Z][A-Z0-9]+-\\d+\\b");
+    private static final DateTimeFormatter QTEST_TIMESTAMP_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssxxx").withZone(ZoneOffset.UTC);
+
+    @Autowired
+    private QTestService qTestService;
+
+    @Autowired
+    private JiraConfig jiraConfig;
+
+    @Value("${qtest.catalog.page-size:200}")
+    private int pageSize;
+
+    @Value("${qtest.catalog.refresh-minutes:15}")
+    private long refreshMinutes;
+
+    @Value("${qtest.catalog.full-refresh-hours:24}")
+    private long fullRefreshHours;
+
+    @Value("${qtest.catalog.retry-after-failure-minutes:5}")
+    private long retryAfterFailureMinutes;
+
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile CatalogSnapshot snapshot = CatalogSnapshot.EMPTY;
+    private volatile Instant lastRefreshStartedAt;
+    private volatile Instant lastFullLoadAt;
+    private volatile Instant lastFailureAt;
+
+    /**
+     * Find a test case by qTest pid (e.g. TC-473), then exact normalized title, then title substring
+     */
+    public Map<String, Object> findTestCase(String qtestId, String title) {
+        CatalogSnapshot catalog = ensureFresh();
+
+        if (qtestId != null && !qtestId.isEmpty()) {
+            Map<String, Object> byPid = catalog.byPid.get(qtestId.trim().toUpperCase(Locale.ROOT));
+            if (byPid != null) {
+                return byPid;
+            }
+            Map<String, Object> byId = catalog.byId.get(qtestId.trim());
+            if (byId != null) {
+                return byId;
+            }
+        }
+
+        List<Map<String, Object>> byTitle = searchByTitle(title);
+        return byTitle.isEmpty() ? null : byTitle.get(0);
+    }
+
+    /**
+     * Test cases whose name matches the title: exact normalized matches first, then substring matches
+     */
+    public List<Map<String, Object>> searchByTitle(String title) {
+        if (title == null || title.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        CatalogSnapshot catalog = ensureFresh();
+        String normalizedTitle = normalizeTitle(title);
+
+        List<Map<String, Object>> exact = catalog.byTitle.get(normalizedTitle);
+        if (exact != null) {
+            return exact;
+        }
+
+        List<Map<String, Object>> matches = new ArrayList<>();
+        for (Map.Entry<String, List<Map<String, Object>>> entry : catalog.byTitle.entrySet()) {
+            if (entry.getKey().contains(normalizedTitle)) {
+                matches.addAll(entry.getValue());
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Test cases that reference the given Jira issue key in a Jira/defect/requirement field or their description
+     */
+    public List<Map<String, Object>> findByJiraKey(String jiraIssueKey) {
+        if (jiraIssueKey == null) {
+            return Collections.emptyList();
+        }
+        List<Map<String, Object>> linked = ensureFresh().byJiraKey.get(jiraIssueKey.trim().toUpperCase(Locale.ROOT));
+        return linked != null ? linked : Collections.emptyList();
+    }
+
+    private CatalogSnapshot ensureFresh() {
+        if (!jiraConfig.isQTestConfigured() || !isRefreshDue()) {
+            return snapshot;
+        }
+
+        // Only one thread refreshes; everybody else keeps reading the current snapshot. Before the first
+        // load there is no snapshot worth reading, so callers wait for it instead of getting an empty catalog.
+        if (lastFullLoadAt == null) {
+            refreshLock.lock();
+        }
+        else if (!refreshLock.tryLock()) {
+            return snapshot;
+        }
+        try {
+            if (isRefreshDue()) {
+                refresh();
+            }
+        }
+        finally {
+            refreshLock.unlock();
+        }
+        return snapshot;
+    }
+
+    private boolean isRefreshDue() {
+        Instant now = Instant.now();
+        if (lastFailureAt != null && lastFailureAt.plus(retryAfterFailureMinutes, ChronoUnit.MINUTES).isAfter(now)) {
+            return false;
+        }
+        return lastRefreshStartedAt == null || lastRefreshStartedAt.plus(refreshMinutes, ChronoUnit.MINUTES).isBefore(now);
+    }
+
+    private void refresh() {
+        Instant refreshStartedAt = Instant.now();
+        boolean fullLoadDue = lastFullLoadAt == null
+                || lastFullLoadAt.plus(fullRefreshHours, ChronoUnit.HOURS).isBefore(refreshStartedAt);
+
+        boolean success = fullLoadDue ? loadFullCatalog() : loadChangesSince(lastRefreshStartedAt);
+        if (!success && !fullLoadDue) {
+            logger.info("Incremental qTest catalog refresh failed, falling back to a full load");
+            fullLoadDue = true;
+            success = loadFullCatalog();
+        }
+
+        if (success) {
+            lastRefreshStartedAt = refreshStartedAt;
+            if (fullLoadDue) {
+                lastFullLoadAt = refreshStartedAt;
+            }
+            lastFailureAt = null;
+        }
+        else {
+            lastFailureAt = Instant.now();
+        }
+    }
+
+    private boolean loadFullCatalog() {
+        long start = System.currentTimeMillis();
+        Map<String, Map<String, Object>> testCases = new HashMap<>();
+
+        int page = 1;
+        while (true) {
+            JsonNode items = qTestService.fetchTestCasePage(page, pageSize);
+            if (items == null) {
+                logger.warn("Full qTest catalog load failed at page {}", page);
+                return false;
+            }
+            addItems(testCases, items);
+            if (items.size() < pageSize) {
+                break;
+            }
+            page++;
+        }
+
+        snapshot = CatalogSnapshot.build(testCases);
+        logger.info("Loaded qTest catalog: {} test cases in {} pages ({} ms)",
+                testCases.size(), page, System.currentTimeMillis() - start);
+        return true;
+    }
+
+    private boolean loadChangesSince(Instant since) {
+        // Small overlap so edits made while the previous refresh ran are not missed
+        String sinceTimestamp = QTEST_TIMESTAMP_FORMAT.format(since.minus(1, ChronoUnit.MINUTES));
+        Map<String, Map<String, Object>> changed = new HashMap<>();
+
+        int page = 1;
+        while (true) {
+            JsonNode items = qTestService.searchTestCasesModifiedSince(sinceTimestamp, page, pageSize);
+            if (items == null) {
+                return false;
+            }
+            addItems(changed, items);
+            if (items.size() < pageSize) {
+                break;
+            }
+            page++;
+        }
+
+        if (!changed.isEmpty()) {
+            Map<String, Map<String, Object>> merged = new HashMap<>(snapshot.byId);
+            merged.putAll(changed);
+            snapshot = CatalogSnapshot.build(merged);
+        }
+        logger.info("Refreshed qTest catalog incrementally: {} test cases changed since {}", changed.size(), sinceTimestamp);
+        return true;
+    }
+
+    private void addItems(Map<String, Map<String, Object>> testCases, JsonNode items) {
+        for (JsonNode item : items) {
+            Map<String, Object> testCase = qTestService.parseTestCaseNode(item);
+            String id = (String) testCase.get("id");
+            if (id == null || id.isEmpty()) {
+                continue;
+            }
+            testCase.put("linkedJiraKeys", extractLinkedJiraKeys(item));
+            testCases.put(id, testCase);
+        }
+    }
+
+    private Set<String> extractLinkedJiraKeys(JsonNode testCaseNode) {
+        Set<String> jiraKeys = new HashSet<>();
+
+        // Same fields the live JIRA-link search looked at: Jira/defect/requirement properties and the description
+        JsonNode propertiesNode = testCaseNode.path("properties");
+        if (propertiesNode.isArray()) {
+            for (JsonNode property : propertiesNode) {
+                String fieldName = property.path("field").path("label").asText().toLowerCase(Locale.ROOT);
+                if (fieldName.contains("jira") || fieldName.contains("defect") || fieldName.contains("requirement")) {
+                    collectJiraKeys(property.path("field_value").asText(), jiraKeys);
+                }
+            }
+        }
+        collectJiraKeys(testCaseNode.path("description").asText(), jiraKeys);
+        return jiraKeys;
+    }
+
+    private void collectJiraKeys(String text, Set<String> jiraKeys) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        Matcher matcher = JIRA_KEY_PATTERN.matcher(text);
+        while (matcher.find()) {
+            jiraKeys.add(matcher.group());
+        }
+    }
+
+    private static String normalizeTitle(String title) {
+        return title == null ? "" : title.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Immutable set of indexes over one version of the catalog; swapped atomically on refresh
+     */
+    private static class CatalogSnapshot {
+        static final CatalogSnapshot EMPTY = build(Collections.emptyMap());
+
+        final Map<String, Map<String, Object>> byId;
+        final Map<String, Map<String, Object>> byPid = new HashMap<>();
+        final Map<String, List<Map<String, Object>>> byTitle = new HashMap<>();
+        final Map<String, List<Map<String, Object>>> byJiraKey = new HashMap<>();
+
+        private CatalogSnapshot(Map<String, Map<String, Object>> byId) {
+            this.byId = byId;
+        }
+
+        @SuppressWarnings("unchecked")
+        static CatalogSnapshot build(Map<String, Map<String, Object>> testCases) {
+            CatalogSnapshot catalog = new CatalogSnapshot(testCases);
+            for (Map<String, Object> testCase : testCases.values()) {
+                String pid = (String) testCase.get("pid");
+                if (pid != null && !pid.isEmpty()) {
+                    catalog.byPid.put(pid.toUpperCase(Locale.ROOT), testCase);
+                }
+                catalog.byTitle.computeIfAbsent(normalizeTitle((String) testCase.get("name")), key -> new ArrayList<>())
+                        .add(testCase);
+                Set<String> jiraKeys = (Set<String>) testCase.get("linkedJiraKeys");
+                if (jiraKeys != null) {
+                    for (String jiraKey : jiraKeys) {
+                        catalog.byJiraKey.computeIfAbsent(jiraKey, key -> new ArrayList<>()).add(testCase);
+                    }
+                }
+            }
+            return catalog;
+        }
+    }
+}
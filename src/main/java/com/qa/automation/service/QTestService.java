@@ -139,18 +139,13 @@ public class QTestService {
         }
 
         try {
-            String url = String.format("/api/v3/projects/%s/test-cases/%s",
-                    jiraConfig.getQtestProjectId(), testCaseId);
+            String url = "/api/v3/projects/{projectId}/test-cases/{testCaseId}";
 
             logger.debug("Fetching QTest test case details for ID: {}", testCaseId);
 
-            String response = WebClient.builder()
-                    .baseUrl(jiraConfig.getQtestUrl())
-                    .defaultHeader("Authorization", "Bearer " + accessToken)
-                    .defaultHeader("Content-Type", "application/json")
-                    .build()
-                    .get()
-                    .uri(url)
+            String response = qtestWebClient.get()
+                    .uri(url, jiraConfig.getQtestProjectId(), testCaseId)
+                    .header("Authorization", "Bearer " + accessToken)
                     .retrieve()
                     .bodyToMono(String.class)
                     .timeout(Duration.ofSeconds(30))
@@ -180,18 +175,13 @@ public class QTestService {
         }
 
         try {
-            String url = String.format("/api/v3/projects/%s/test-cases?size=100",
-                    jiraConfig.getQtestProjectId());
+            String url = "/api/v3/projects/{projectId}/test-cases?size=100";
 
             logger.debug("Searching QTest test cases by title: {}", title);
 
-            String response = WebClient.builder()
-                    .baseUrl(jiraConfig.getQtestUrl())
-                    .defaultHeader("Authorization", "Bearer " + accessToken)
-                    .defaultHeader("Content-Type", "application/json")
-                    .build()
-                    .get()
-                    .uri(url)
+            String response = qtestWebClient.get()
+                    .uri(url, jiraConfig.getQtestProjectId())
+                    .header("Authorization", "Bearer " + accessToken)
                     .retrieve()
                     .bodyToMono(String.class)
                     .timeout(Duration.ofSeconds(30))
@@ -211,16 +201,106 @@ public class QTestService {
         }
     }
 
+    /**
+     * Fetch one page of the project's test case catalog (page numbers start at 1). Returns null on failure.
+     */
+    public JsonNode fetchTestCasePage(int page, int size) {
+        if (!ensureValidToken()) {
+            logger.error("Cannot fetch test case page - authentication failed");
+            return null;
+        }
+
+        try {
+            String url = "/api/v3/projects/{projectId}/test-cases?page={page}&size={size}";
+
+            String response = qtestWebClient.get()
+                    .uri(url, jiraConfig.getQtestProjectId(), page, size)
+                    .header("Authorization", "Bearer " + accessToken)
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .timeout(Duration.ofSeconds(60))
+                    .block();
+
+            return extractItems(objectMapper.readTree(response));
+        }
+        catch (WebClientResponseException e) {
+            logger.error("Error fetching QTest test case page {}: {} - {}",
+                    page, e.getStatusCode(), e.getResponseBodyAsString());
+            return null;
+        }
+        catch (Exception e) {
+            logger.error("Unexpected error fetching QTest test case page {}: {}", page, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Fetch one page of test cases modified at or after the given ISO-8601 timestamp. Returns null on failure.
+     */
+    public JsonNode searchTestCasesModifiedSince(String isoTimestamp, int page, int size) {
+        if (!ensureValidToken()) {
+            logger.error("Cannot search modified test cases - authentication failed");
+            return null;
+        }
+
+        try {
+            String url = "/api/v3/projects/{projectId}/search?page={page}&pageSize={size}";
+
+            Map<String, Object> searchRequest = new HashMap<>();
+            searchRequest.put("object_type", "test-cases");
+            searchRequest.put("fields", List.of("*"));
+            searchRequest.put("query", "'Last Modified Date' >= '" + isoTimestamp + "'");
+
+            String response = qtestWebClient.post()
+                    .uri(url, jiraConfig.getQtestProjectId(), page, size)
+                    .header("Authorization", "Bearer " + accessToken)
+                    .bodyValue(searchRequest)
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .timeout(Duration.ofSeconds(60))
+                    .block();
+
+            return extractItems(objectMapper.readTree(response));
+        }
+        catch (WebClientResponseException e) {
+            logger.error("Error searching QTest test cases modified since {}: {} - {}",
+                    isoTimestamp, e.getStatusCode(), e.getResponseBodyAsString());
+            return null;
+        }
+        catch (Exception e) {
+            logger.error("Unexpected error searching QTest test cases modified since {}: {}",
+                    isoTimestamp, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private JsonNode extractItems(JsonNode rootNode) {
+        // List endpoints return either a bare array or an object with an "items" array
+        return rootNode.isArray() ? rootNode : rootNode.path("items");
+    }
+
     /**
      * Parse QTest test case response
      */
     private Map<String, Object> parseTestCaseResponse(String response) {
+        try {
+            return parseTestCaseNode(objectMapper.readTree(response));
+        }
+        catch (Exception e) {
+            logger.error("Error parsing QTest test case response: {}", e.getMessage(), e);
+            return new HashMap<>();
+        }
+    }
+
+    /**
+     * Map a single QTest test case node to the flat structure used across the app
+     */
+    public Map<String, Object> parseTestCaseNode(JsonNode testCaseNode) {
         Map<String, Object> testCase = new HashMap<>();
 
         try {
-            JsonNode testCaseNode = objectMapper.readTree(response);
-
             testCase.put("id", testCaseNode.path("id").asText());
+            testCase.put("pid", testCaseNode.path("pid").asText());
             testCase.put("name", testCaseNode.path("name").asText());
             testCase.put("description", testCaseNode.path("description").asText());
 
@@ -253,7 +333,7 @@ public class QTestService {
 
         }
         catch (Exception e) {
-            logger.error("Error parsing QTest test case response: {}", e.getMessage(), e);
+            logger.error("Error parsing QTest test case node: {}", e.getMessage(), e);
         }
 
         return testCase;
@@ -332,18 +412,13 @@ public class QTestService {
 
         try {
             // Search for test cases that have the JIRA issue key in their links or requirements
-            String url = String.format("/api/v3/projects/%s/test-cases?size=500",
-                    jiraConfig.getQtestProjectId());
+            String url = "/api/v3/projects/{projectId}/test-cases?size=500";
 
             logger.debug("Searching QTest test cases linked to JIRA issue: {}", jiraIssueKey);
 
-            String response = WebClient.builder()
-                    .baseUrl(jiraConfig.getQtestUrl())
-                    .defaultHeader("Authorization", "Bearer " + accessToken)
-                    .defaultHeader("Content-Type", "application/json")
-                    .build()
-                    .get()
-                    .uri(url)
+            String response = qtestWebClient.get()
+                    .uri(url, jiraConfig.getQtestProjectId())
+                    .header("Authorization", "Bearer " + accessToken)
                     .retrieve()
                     .bodyToMono(String.class)
                     .timeout(Duration.ofSeconds(30))
@@ -0,0 +1,123 @@
+package com.qa.automation.service;
+
+import com.qa.automation.model.SyncJob;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+@Service
+public class SyncJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyncJobService.class);
+
+    public static final String TYPE_JENKINS_SYNC = "JENKINS_SYNC";
+    public static final String TYPE_SPRINT_SYNC = "SPRINT_SYNC";
+    public static final String TYPE_JENKINS_INGEST = "JENKINS_INGEST";
+
+    @Autowired
+    private ThreadPoolTaskExecutor syncJobExecutor;
+
+    @Autowired
+    private ThreadPoolTaskExecutor ingestJobExecutor;
+
+    @Value("${sync.jobs.retention-minutes:60}")
+    private long retentionMinutes;
+
+    private final Map<String, SyncJob> jobs = new ConcurrentHashMap<>();
+
+    // Target key -> job currently queued or running for it
+    private final Map<String, SyncJob> activeJobsByTarget = new ConcurrentHashMap<>();
+
+    /**
+     * Start a background sync for the given target, or return the job already running for it
+     */
+    public SyncJob submit(String type, String target, Function<SyncJob, Object> work) {
+        return submit(type, target, work, true);
+    }
+
+    /**
+     * Start a background sync for the given target; returns null instead of collapsing onto a job already
+     * queued or running for it, for callers whose work differs between requests for the same target
+     */
+    public SyncJob submitIfIdle(String type, String target, Function<SyncJob, Object> work) {
+        return submit(type, target, work, false);
+    }
+
+    // Pushed reports get their own workers and queue; everything else shares the sync job executor
+    private ThreadPoolTaskExecutor executorFor(String type) {
+        return TYPE_JENKINS_INGEST.equals(type) ? ingestJobExecutor : syncJobExecutor;
+    }
+
+    private SyncJob submit(String type, String target, Function<SyncJob, Object> work, boolean collapse) {
+        evictExpiredJobs();
+        String targetKey = type + ":" + target;
+
+        SyncJob[] created = new SyncJob[1];
+        SyncJob job = activeJobsByTarget.compute(targetKey, (key, existing) -> {
+            if (existing != null && !existing.isFinished()) {
+                return existing;
+            }
+            created[0] = new SyncJob(type, target);
+            return created[0];
+        });
+
+        if (created[0] == null) {
+            if (!collapse) {
+                logger.info("Sync for {} already running as job {}, not queueing another", targetKey, job.getId());
+                return null;
+            }
+            logger.info("Sync for {} already running as job {}, collapsing request", targetKey, job.getId());
+            return job;
+        }
+
+        jobs.put(job.getId(), job);
+        try {
+            executorFor(type).execute(() -> runJob(targetKey, job, work));
+        }
+        catch (Exception e) {
+            logger.error("Could not queue sync job {} for {}: {}", job.getId(), targetKey, e.getMessage());
+            job.markFailed("Could not queue sync job: " + e.getMessage());
+            activeJobsByTarget.remove(targetKey, job);
+        }
+        return job;
+    }
+
+    public Optional<SyncJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    public boolean isRunning(String type, String target) {
+        SyncJob job = activeJobsByTarget.get(type + ":" + target);
+        return job != null && !job.isFinished();
+    }
+
+    private void runJob(String targetKey, SyncJob job, Function<SyncJob, Object> work) {
+        job.markRunning();
+        logger.info("Sync job {} started for {}", job.getId(), targetKey);
+        try {
+            job.markCompleted(work.apply(job));
+            logger.info("Sync job {} for {} completed in {} ms", job.getId(), targetKey, job.getDurationMs());
+        }
+        catch (Exception e) {
+            logger.error("Sync job {} for {} failed: {}", job.getId(), targetKey, e.getMessage(), e);
+            job.markFailed(e.getMessage());
+        }
+        finally {
+            activeJobsByTarget.remove(targetKey, job);
+        }
+    }
+
+    private void evictExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt() != null
+                && job.getFinishedAt().isBefore(cutoff));
+    }
+}
@@ -0,0 +1,346 @@
+package com.qa.automation.service;
+
+import com.qa.automation.dto.JenkinsJobFrequency;
+import com.qa.automation.dto.JiraIssueDto;
+import com.qa.automation.model.SyncJob;
+import com.qa.automation.repository.JenkinsResultRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Background refresh of Jenkins results and active Jira sprints. Each Jenkins job is polled on an interval
+ * derived from its job frequency (Hourly, Daily, ...), with random jitter so jobs sharing a frequency do not
+ * all come due on the same tick. Due jobs are synced as one batch through SyncJobService, which collapses a
+ * run onto one already queued or running for the same target. Paused, resumed and triggered at runtime
+ * through the syncscheduler actuator endpoint.
+ */
+@Service
+public class SyncSchedulerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyncSchedulerService.class);
+
+    public static final String TARGET_SCHEDULED = "scheduled";
+    private static final String TARGET_ALL = "all";
+
+    @Autowired
+    private SyncJobService syncJobService;
+
+    @Autowired
+    private JenkinsService jenkinsService;
+
+    @Autowired
+    private ManualPageService manualPageService;
+
+    @Autowired
+    private JiraIntegrationService jiraIntegrationService;
+
+    @Autowired
+    private JenkinsResultRepository jenkinsResultRepository;
+
+    @Value("${sync.scheduler.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sync.scheduler.jitter-ratio:0.2}")
+    private double jitterRatio;
+
+    @Value("${sync.scheduler.jenkins.continuous-minutes:5}")
+    private long continuousMinutes;
+
+    @Value("${sync.scheduler.jenkins.hourly-minutes:15}")
+    private long hourlyMinutes;
+
+    @Value("${sync.scheduler.jenkins.daily-minutes:60}")
+    private long dailyMinutes;
+
+    @Value("${sync.scheduler.jenkins.weekly-minutes:360}")
+    private long weeklyMinutes;
+
+    @Value("${sync.scheduler.jenkins.monthly-minutes:1440}")
+    private long monthlyMinutes;
+
+    @Value("${sync.scheduler.jenkins.default-minutes:60}")
+    private long defaultMinutes;
+
+    // Full listing sync that also picks up jobs with no stored results yet
+    @Value("${sync.scheduler.jenkins.full-sync-minutes:360}")
+    private long fullSyncMinutes;
+
+    @Value("${sync.scheduler.jenkins.job-refresh-minutes:10}")
+    private long jobRefreshMinutes;
+
+    @Value("${sync.scheduler.sprints.interval-minutes:30}")
+    private long sprintIntervalMinutes;
+
+    private final AtomicBoolean paused = new AtomicBoolean();
+
+    // Job name -> when it is next due; only touched from the scheduler thread and the trigger operations
+    private final Map<String, Instant> nextJobPoll = new ConcurrentHashMap<>();
+    private final Map<String, Duration> jobIntervals = new ConcurrentHashMap<>();
+    private volatile Instant jobsRefreshedAt;
+    private volatile Instant nextFullSync;
+    private volatile Instant nextSprintRefresh;
+
+    private volatile Instant lastTickAt;
+    private volatile String lastJenkinsJobId;
+    private volatile String lastFullSyncJobId;
+    private final Map<String, String> lastSprintJobIds = new ConcurrentHashMap<>();
+
+    /**
+     * Scheduler tick: queue whatever is due and return; the syncs themselves run on the sync job executor
+     */
+    @Scheduled(initialDelayString = "${sync.scheduler.initial-delay-seconds:60}",
+            fixedDelayString = "${sync.scheduler.tick-seconds:60}", timeUnit = TimeUnit.SECONDS)
+    public void tick() {
+        if (!enabled || paused.get()) {
+            return;
+        }
+        lastTickAt = Instant.now();
+        try {
+            pollJenkins(lastTickAt);
+        }
+        catch (Exception e) {
+            logger.error("Scheduled Jenkins poll failed: {}", e.getMessage(), e);
+        }
+        try {
+            refreshSprintsIfDue(lastTickAt);
+        }
+        catch (Exception e) {
+            logger.error("Scheduled sprint refresh failed: {}", e.getMessage(), e);
+        }
+    }
+
+    public boolean isPaused() {
+        return !enabled || paused.get();
+    }
+
+    public void pause() {
+        paused.set(true);
+        logger.info("Sync scheduler paused");
+    }
+
+    public void resume() {
+        paused.set(false);
+        logger.info("Sync scheduler resumed");
+    }
+
+    /**
+     * Make every known Jenkins job due and queue the batch now, even while paused. Returns null when a
+     * scheduled batch is still queued or running.
+     */
+    public SyncJob triggerJenkins() {
+        Instant now = Instant.now();
+        refreshJobs(now);
+        Set<String> jobNames = new TreeSet<>(jobIntervals.keySet());
+        SyncJob job = submitJenkinsBatch(jobNames);
+        if (job != null && !job.isRejected()) {
+            scheduleNextPolls(jobNames, now);
+        }
+        return job;
+    }
+
+    /**
+     * Queue a full listing sync now, the same run as POST /api/jenkins/sync
+     */
+    public SyncJob triggerFullJenkinsSync() {
+        nextFullSync = jitteredFromNow(Instant.now(), Duration.ofMinutes(fullSyncMinutes));
+        SyncJob job = syncJobService.submit(SyncJobService.TYPE_JENKINS_SYNC, TARGET_ALL,
+                syncJob -> jenkinsService.syncAllJobsFromJenkins(syncJob));
+        lastFullSyncJobId = job.getId();
+        return job;
+    }
+
+    /**
+     * Queue a sync of every active sprint on the configured board now, even while paused
+     */
+    public List<SyncJob> triggerSprints() {
+        nextSprintRefresh = jitteredFromNow(Instant.now(), Duration.ofMinutes(sprintIntervalMinutes));
+        return submitActiveSprints();
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("paused", paused.get());
+        status.put("lastTickAt", lastTickAt);
+        status.put("trackedJobs", jobIntervals.size());
+        status.put("nextFullSync", nextFullSync);
+        status.put("nextSprintRefresh", nextSprintRefresh);
+        status.put("lastJenkinsJobId", lastJenkinsJobId);
+        status.put("lastFullSyncJobId", lastFullSyncJobId);
+        status.put("lastSprintJobIds", new HashMap<>(lastSprintJobIds));
+
+        Map<String, Object> jobs = new LinkedHashMap<>();
+        for (String jobName : new TreeSet<>(nextJobPoll.keySet())) {
+            Map<String, Object> job = new LinkedHashMap<>();
+            job.put("intervalMinutes", jobIntervals.getOrDefault(jobName, Duration.ZERO).toMinutes());
+            job.put("nextPoll", nextJobPoll.get(jobName));
+            jobs.put(jobName, job);
+        }
+        status.put("jobs", jobs);
+        return status;
+    }
+
+    private void pollJenkins(Instant now) {
+        // A manual or scheduled full sync covers every job anyway
+        if (syncJobService.isRunning(SyncJobService.TYPE_JENKINS_SYNC, TARGET_ALL)) {
+            return;
+        }
+        if (nextFullSync == null) {
+            nextFullSync = jitteredFromNow(now, Duration.ofMinutes(fullSyncMinutes));
+        }
+        else if (!now.isBefore(nextFullSync)) {
+            logger.info("Scheduled full Jenkins sync is due");
+            triggerFullJenkinsSync();
+            return;
+        }
+
+        if (jobsRefreshedAt == null || Duration.between(jobsRefreshedAt, now).toMinutes() >= jobRefreshMinutes) {
+            refreshJobs(now);
+        }
+
+        Set<String> dueJobs = new TreeSet<>();
+        for (Map.Entry<String, Instant> entry : nextJobPoll.entrySet()) {
+            if (!now.isBefore(entry.getValue())) {
+                dueJobs.add(entry.getKey());
+            }
+        }
+        if (dueJobs.isEmpty()) {
+            return;
+        }
+        // Only a batch that was actually queued moves its jobs' next poll; otherwise they stay due for the next tick
+        SyncJob job = submitJenkinsBatch(dueJobs);
+        if (job != null && !job.isRejected()) {
+            scheduleNextPolls(dueJobs, now);
+        }
+    }
+
+    private void scheduleNextPolls(Set<String> jobNames, Instant now) {
+        for (String jobName : jobNames) {
+            Duration interval = jobIntervals.get(jobName);
+            if (interval != null) {
+                nextJobPoll.put(jobName, jitteredFromNow(now, interval));
+            }
+        }
+    }
+
+    /**
+     * Queue a batch under the scheduled target; null when a previous batch (possibly of other jobs) is still
+     * queued or running, since collapsing onto it would silently drop this batch's jobs
+     */
+    private SyncJob submitJenkinsBatch(Set<String> jobNames) {
+        SyncJob job = syncJobService.submitIfIdle(SyncJobService.TYPE_JENKINS_SYNC, TARGET_SCHEDULED,
+                syncJob -> jenkinsService.syncSelectedJobsFromJenkins(jobNames, syncJob));
+        if (job == null) {
+            return null;
+        }
+        logger.info("Queued scheduled Jenkins sync of {} jobs as job {}", jobNames.size(), job.getId());
+        lastJenkinsJobId = job.getId();
+        return job;
+    }
+
+    /**
+     * Reload job names and frequencies; new jobs get a random first poll within their interval
+     */
+    private void refreshJobs(Instant now) {
+        Map<String, Duration> intervals = new HashMap<>();
+        for (JenkinsJobFrequency job : jenkinsResultRepository.findLatestJobFrequencies()) {
+            intervals.put(job.getJobName(), intervalFor(job.getJobFrequency()));
+        }
+
+        jobIntervals.keySet().retainAll(intervals.keySet());
+        nextJobPoll.keySet().retainAll(intervals.keySet());
+        for (Map.Entry<String, Duration> entry : intervals.entrySet()) {
+            Duration previous = jobIntervals.put(entry.getKey(), entry.getValue());
+            if (previous == null || !previous.equals(entry.getValue())) {
+                long spreadMillis = ThreadLocalRandom.current().nextLong(Math.max(1L, entry.getValue().toMillis()));
+                nextJobPoll.put(entry.getKey(), now.plusMillis(spreadMillis));
+            }
+        }
+        jobsRefreshedAt = now;
+    }
+
+    private Duration intervalFor(String jobFrequency) {
+        long minutes;
+        switch (jobFrequency != null ? jobFrequency : "Unknown") {
+            case "Continuous":
+                minutes = continuousMinutes;
+                break;
+            case "Hourly":
+                minutes = hourlyMinutes;
+                break;
+            case "Daily":
+                minutes = dailyMinutes;
+                break;
+            case "Weekly":
+                minutes = weeklyMinutes;
+                break;
+            case "Monthly":
+                minutes = monthlyMinutes;
+                break;
+            default:
+                minutes = defaultMinutes;
+        }
+        return Duration.ofMinutes(Math.max(1L, minutes));
+    }
+
+    private void refreshSprintsIfDue(Instant now) {
+        if (nextSprintRefresh == null) {
+            nextSprintRefresh = jitteredFromNow(now, Duration.ofMinutes(sprintIntervalMinutes));
+            return;
+        }
+        if (now.isBefore(nextSprintRefresh)) {
+            return;
+        }
+        nextSprintRefresh = jitteredFromNow(now, Duration.ofMinutes(sprintIntervalMinutes));
+        submitActiveSprints();
+    }
+
+    private List<SyncJob> submitActiveSprints() {
+        List<SyncJob> submitted = new ArrayList<>();
+        lastSprintJobIds.clear();
+        for (Map<String, Object> sprint : jiraIntegrationService.fetchSprints()) {
+            if (!"active".equalsIgnoreCase(String.valueOf(sprint.get("state"))) || sprint.get("id") == null) {
+                continue;
+            }
+            String sprintId = String.valueOf(sprint.get("id"));
+            // Same target key as POST /api/manual-page/sprints/{sprintId}/sync, so a manual run is not duplicated
+            String target = manualPageService.sprintSyncTarget(sprintId, null);
+            SyncJob job = syncJobService.submit(SyncJobService.TYPE_SPRINT_SYNC, target, syncJob -> {
+                List<JiraIssueDto> issues = manualPageService.fetchAndSyncSprintIssues(sprintId, null, null, syncJob);
+                Map<String, Object> result = new HashMap<>();
+                result.put("sprintId", sprintId);
+                result.put("issuesSynced", issues.size());
+                return result;
+            });
+            lastSprintJobIds.put(sprintId, job.getId());
+            submitted.add(job);
+        }
+        logger.info("Queued refresh of {} active sprints", submitted.size());
+        return submitted;
+    }
+
+    // Base interval plus up to jitterRatio of it, so runs drift apart instead of lining up
+    private Instant jitteredFromNow(Instant now, Duration interval) {
+        long baseMillis = interval.toMillis();
+        long jitterMillis = (long) (baseMillis * Math.max(0.0, jitterRatio));
+        long offset = jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0L;
+        return now.plusMillis(baseMillis + offset);
+    }
+}
@@ -1,13 +1,17 @@
 package com.qa.automation.service;
 
+import com.qa.automation.dto.KeysetPage;
 import com.qa.automation.model.Project;
 import com.qa.automation.model.TestCase;
 import com.qa.automation.model.Tester;
-import com.qa.automation.repository.ProjectRepository;
 import com.qa.automation.repository.TestCaseRepository;
-import com.qa.automation.repository.TesterRepository;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.function.Function;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -17,26 +21,51 @@ public class TestCaseService {
     private TestCaseRepository testCaseRepository;
 
     @Autowired
-    private ProjectRepository projectRepository;
+    private ProjectService projectService;
 
     @Autowired
-    private TesterRepository testerRepository;
+    private TesterService testerService;
+
+    @Autowired
+    private DashboardSnapshotService dashboardSnapshotService;
+
+    @Autowired
+    private NdjsonExportService ndjsonExportService;
+
+    @Value("${api.page.max-size:500}")
+    private int maxPageSize;
 
     public List<TestCase> getAllTestCases() {
         return testCaseRepository.findAll();
     }
 
+    /**
+     * Keyset page of test cases ordered by id, starting after the given id (null for the first page)
+     */
+    public KeysetPage<TestCase> getTestCasesPage(Long afterId, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        List<TestCase> rows = testCaseRepository.findPageAfterId(afterId != null ? afterId : 0L, PageRequest.of(0, pageSize + 1));
+        return KeysetPage.fromLookahead(rows, pageSize, TestCase::getId);
+    }
+
+    /**
+     * Write every test case as NDJSON straight from a database stream
+     */
+    public long exportTestCases(OutputStream out) throws IOException {
+        return ndjsonExportService.write(testCaseRepository::streamAll, Function.identity(), out);
+    }
+
     public TestCase createTestCase(TestCase testCase) {
         // Handle project assignment
         if (testCase.getProjectId() != null) {
-            Project project = projectRepository.findById(testCase.getProjectId()).orElse(null);
+            Project project = projectService.getProjectById(testCase.getProjectId());
             if (project == null) {
                 throw new RuntimeException("Project not found with id: " + testCase.getProjectId());
             }
             testCase.setProject(project);
         }
         else if (testCase.getProject() != null && testCase.getProject().getId() != null) {
-            Project project = projectRepository.findById(testCase.getProject().getId()).orElse(null);
+            Project project = projectService.getProjectById(testCase.getProject().getId());
             if (project == null) {
                 throw new RuntimeException("Project not found with id: " + testCase.getProject().getId());
             }
@@ -48,14 +77,14 @@ public class TestCaseService {
 
         // Handle tester assignment
         if (testCase.getTesterId() != null) {
-            Tester tester = testerRepository.findById(testCase.getTesterId()).orElse(null);
+            Tester tester = testerService.getTesterById(testCase.getTesterId());
             if (tester == null) {
                 throw new RuntimeException("Tester not found with id: " + testCase.getTesterId());
             }
             testCase.setTester(tester);
         }
         else if (testCase.getTester() != null && testCase.getTester().getId() != null) {
-            Tester tester = testerRepository.findById(testCase.getTester().getId()).orElse(null);
+            Tester tester = testerService.getTesterById(testCase.getTester().getId());
             if (tester == null) {
                 throw new RuntimeException("Tester not found with id: " + testCase.getTester().getId());
             }
@@ -65,7 +94,9 @@ public class TestCaseService {
             throw new RuntimeException("Tester is required for creating a test case");
         }
 
-        return testCaseRepository.save(testCase);
+        TestCase savedTestCase = testCaseRepository.save(testCase);
+        dashboardSnapshotService.testCaseCreated(savedTestCase);
+        return savedTestCase;
     }
 
     public TestCase getTestCaseById(Long id) {
@@ -73,19 +104,22 @@ public class TestCaseService {
     }
 
     public TestCase updateTestCase(Long id, TestCase testCase) {
-        if (testCaseRepository.existsById(id)) {
+        TestCase existingTestCase = testCaseRepository.findById(id).orElse(null);
+        if (existingTestCase != null) {
+            // Capture the dashboard slice before save, which may merge into the same instance
+            DashboardSnapshotService.TestCaseSlice previousSlice = DashboardSnapshotService.TestCaseSlice.of(existingTestCase);
             testCase.setId(id);
 
             // Handle project assignment for update
             if (testCase.getProjectId() != null) {
-                Project project = projectRepository.findById(testCase.getProjectId()).orElse(null);
+                Project project = projectService.getProjectById(testCase.getProjectId());
                 if (project == null) {
                     throw new RuntimeException("Project not found with id: " + testCase.getProjectId());
                 }
                 testCase.setProject(project);
             }
             else if (testCase.getProject() != null && testCase.getProject().getId() != null) {
-                Project project = projectRepository.findById(testCase.getProject().getId()).orElse(null);
+                Project project = projectService.getProjectById(testCase.getProject().getId());
                 if (project == null) {
                     throw new RuntimeException("Project not found with id: " + testCase.getProject().getId());
                 }
@@ -94,28 +128,44 @@ public class TestCaseService {
 
             // Handle tester assignment for update
             if (testCase.getTesterId() != null) {
-                Tester tester = testerRepository.findById(testCase.getTesterId()).orElse(null);
+                Tester tester = testerService.getTesterById(testCase.getTesterId());
                 if (tester == null) {
                     throw new RuntimeException("Tester not found with id: " + testCase.getTesterId());
                 }
                 testCase.setTester(tester);
             }
             else if (testCase.getTester() != null && testCase.getTester().getId() != null) {
-                Tester tester = testerRepository.findById(testCase.getTester().getId()).orElse(null);
+                Tester tester = testerService.getTesterById(testCase.getTester().getId());
                 if (tester == null) {
                     throw new RuntimeException("Tester not found with id: " + testCase.getTester().getId());
                 }
                 testCase.setTester(tester);
             }
 
-            return testCaseRepository.save(testCase);
+            TestCase savedTestCase = testCaseRepository.save(testCase);
+            dashboardSnapshotService.testCaseUpdated(previousSlice, savedTestCase);
+            return savedTestCase;
         }
         return null;
     }
 
+    /**
+     * Change the status of an already loaded test case and keep the dashboard snapshot in step
+     */
+    public TestCase updateTestCaseStatus(TestCase testCase, String status) {
+        DashboardSnapshotService.TestCaseSlice previousSlice = DashboardSnapshotService.TestCaseSlice.of(testCase);
+        testCase.setStatus(status);
+        TestCase savedTestCase = testCaseRepository.save(testCase);
+        dashboardSnapshotService.testCaseUpdated(previousSlice, savedTestCase);
+        return savedTestCase;
+    }
+
     public boolean deleteTestCase(Long id) {
-        if (testCaseRepository.existsById(id)) {
+        TestCase existingTestCase = testCaseRepository.findById(id).orElse(null);
+        if (existingTestCase != null) {
+            DashboardSnapshotService.TestCaseSlice previousSlice = DashboardSnapshotService.TestCaseSlice.of(existingTestCase);
             testCaseRepository.deleteById(id);
+            dashboardSnapshotService.testCaseDeleted(previousSlice);
             return true;
         }
         return false;
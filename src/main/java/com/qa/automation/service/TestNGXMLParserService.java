@@ -2,368 +2,655 @@ package com.qa.automation.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.qa.automation.model.JenkinsArtifactLayout;
 import com.qa.automation.model.JenkinsResult;
 import com.qa.automation.model.JenkinsTestCase;
-import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
 
 @Service
 public class TestNGXMLParserService {
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 2000;
+    private static final int MAX_STACK_TRACE_LENGTH = 5000;
+
+    @Autowired
+    private RestTemplate restTemplate;
     private final ObjectMapper objectMapper = new ObjectMapper();
+    private final XMLInputFactory xmlInputFactory = createXmlInputFactory();
     @Value("${jenkins.url:}")
     private String jenkinsUrl;
     @Value("${jenkins.username:}")
     private String jenkinsUsername;
     @Value("${jenkins.token:}")
     private String jenkinsToken;
+    @Value("${jenkins.xml.parse-batch-size:500}")
+    private int parseBatchSize;
+    @Value("${jenkins.artifacts.zip-min-files:5}")
+    private int zipMinFiles;
 
     /**
      * Extract test cases from TestNG XML files in Jenkins artifacts
      */
     public List<JenkinsTestCase> extractTestCasesFromXMLFiles(JenkinsResult jenkinsResult) {
         List<JenkinsTestCase> testCases = new ArrayList<>();
-
         try {
-            System.out.println("Attempting to extract test cases from TestNG XML files for job: " + jenkinsResult.getJobName());
+            extractTestCasesFromXMLFiles(jenkinsResult, testCases::addAll);
+        }
+        catch (RuntimeException e) {
+            // A report broke off after some of its test cases were collected; don't hand back a partial list
+            System.err.println("Error extracting test cases from XML files: " + e.getMessage());
+            return new ArrayList<>();
+        }
+        return testCases;
+    }
 
-            // First, get the list of artifacts
-            List<String> testngXmlFiles = findTestNGXMLFiles(jenkinsResult.getJobName(), jenkinsResult.getBuildNumber());
+    /**
+     * Stream test cases out of the TestNG/Surefire XML artifacts, handing them to the consumer in bounded batches.
+     * A few report files are fetched one by one; from jenkins.artifacts.zip-min-files on, each report directory
+     * is downloaded once as a zip and its entries are parsed straight off the stream. When the artifact tree
+     * cannot be read, the build's whole archive.zip is scanned instead. Returns the number of test cases emitted.
+     * Reports that cannot be read are skipped; one that breaks off after its test cases were partly handed to the
+     * consumer, or a failing consumer, fails the whole extraction.
+     */
+    public int extractTestCasesFromXMLFiles(JenkinsResult jenkinsResult, Consumer<List<JenkinsTestCase>> batchConsumer) {
+        return extractTestCasesFromXMLFiles(jenkinsResult, batchConsumer, (strategy, paths) -> {
+        });
+    }
 
-            if (testngXmlFiles.isEmpty()) {
-                System.out.println("No TestNG XML files found in artifacts");
-                return testCases;
+    /**
+     * Same as {@link #extractTestCasesFromXMLFiles(JenkinsResult, Consumer)}; when test cases were found the
+     * listener receives the strategy and artifact paths that produced them, for
+     * {@link #extractTestCasesWithLayout} on later builds
+     */
+    public int extractTestCasesFromXMLFiles(JenkinsResult jenkinsResult, Consumer<List<JenkinsTestCase>> batchConsumer,
+                                            BiConsumer<String, List<String>> layoutListener) {
+        int totalCases = 0;
+        String strategy = JenkinsArtifactLayout.STRATEGY_XML_ARTIFACTS;
+        List<String> learnedPaths = new ArrayList<>();
+
+        System.out.println("Attempting to extract test cases from TestNG XML files for job: " + jenkinsResult.getJobName());
+
+        // First, get the list of artifacts
+        List<String> testngXmlFiles = findTestNGXMLFiles(jenkinsResult.getJobName(), jenkinsResult.getBuildNumber());
+
+        if (testngXmlFiles == null) {
+            System.out.println("Artifact tree unavailable, scanning archive.zip for test reports");
+            strategy = JenkinsArtifactLayout.STRATEGY_ARCHIVE_ZIP;
+            Integer archiveCases = parseZipArtifact(jenkinsResult, "", this::isTestReportArtifact, batchConsumer, new int[1], new HashSet<>());
+            totalCases = archiveCases != null ? archiveCases : 0;
+        }
+        else if (testngXmlFiles.isEmpty()) {
+            System.out.println("No TestNG XML files found in artifacts");
+            return 0;
+        }
+        else if (testngXmlFiles.size() >= zipMinFiles) {
+            totalCases = parseReportDirectories(jenkinsResult, testngXmlFiles, batchConsumer, learnedPaths);
+        }
+        else {
+            totalCases = parseReportFiles(jenkinsResult, testngXmlFiles, batchConsumer, learnedPaths);
+        }
+
+        System.out.println("Total test cases extracted from XML files: " + totalCases);
+
+        if (totalCases > 0) {
+            layoutListener.accept(strategy, learnedPaths);
+        }
+        return totalCases;
+    }
+
+    /**
+     * Fetch the reports straight from a layout learned on an earlier build, taking the report files from the
+     * build's own artifact list instead of listing the artifact tree again. Every report in a learned directory is
+     * fetched, so report files added since are picked up; learned zip directories fall back to per-file fetches
+     * when their zip fails. Returns 0 without fetching anything when the build lists no artifacts or has reports
+     * outside the learned directories, so the caller rediscovers.
+     */
+    public int extractTestCasesWithLayout(JenkinsResult jenkinsResult, JenkinsArtifactLayout layout,
+                                          List<String> buildArtifacts, Consumer<List<JenkinsTestCase>> batchConsumer) {
+        if (JenkinsArtifactLayout.STRATEGY_ARCHIVE_ZIP.equals(layout.getStrategy())) {
+            Integer archiveCases = parseZipArtifact(jenkinsResult, "", this::isTestReportArtifact, batchConsumer, new int[1], new HashSet<>());
+            return archiveCases != null ? archiveCases : 0;
+        }
+
+        Set<String> zipDirectories = new HashSet<>();
+        Set<String> fileDirectories = new HashSet<>();
+        for (String path : layout.getArtifactPathList()) {
+            if (path.endsWith("/")) {
+                zipDirectories.add(path.substring(0, path.length() - 1));
+            }
+            else {
+                fileDirectories.add(parentDirectory(path));
             }
+        }
 
-            // Parse each TestNG XML file
-            for (String xmlFile : testngXmlFiles) {
-                try {
-                    String xmlContent = downloadArtifact(jenkinsResult.getJobName(), jenkinsResult.getBuildNumber(), xmlFile);
-                    if (xmlContent != null && !xmlContent.isEmpty()) {
-                        List<JenkinsTestCase> fileCases = parseTestNGXML(jenkinsResult, xmlContent, xmlFile);
-                        testCases.addAll(fileCases);
-                        System.out.println("Extracted " + fileCases.size() + " test cases from " + xmlFile);
-                    }
-                }
-                catch (Exception e) {
-                    System.err.println("Error parsing XML file " + xmlFile + ": " + e.getMessage());
-                }
+        List<String> zipFiles = new ArrayList<>();
+        List<String> files = new ArrayList<>();
+        int uncovered = 0;
+        for (String artifact : buildArtifacts) {
+            if (!isTestReportArtifact(artifact)) {
+                continue;
+            }
+            String directory = parentDirectory(artifact);
+            if (zipDirectories.contains(directory)) {
+                zipFiles.add(artifact);
+            }
+            else if (fileDirectories.contains(directory)) {
+                files.add(artifact);
             }
+            else {
+                uncovered++;
+            }
+        }
+        if (uncovered > 0 || zipFiles.isEmpty() && files.isEmpty()) {
+            System.out.println("Learned artifact layout of " + jenkinsResult.getJobName() + " does not cover build " +
+                    jenkinsResult.getBuildNumber() + " (" + uncovered + " report files outside it)");
+            return 0;
+        }
 
-            System.out.println("Total test cases extracted from XML files: " + testCases.size());
+        int totalCases = parseReportDirectories(jenkinsResult, zipFiles, batchConsumer, new ArrayList<>())
+                + parseReportFiles(jenkinsResult, files, batchConsumer, new ArrayList<>());
+        System.out.println("Extracted " + totalCases + " test cases using the learned artifact layout of " + jenkinsResult.getJobName());
+        return totalCases;
+    }
 
+    // Parse each TestNG XML file straight off its own HTTP stream; files that downloaded are added to fetchedPaths
+    private int parseReportFiles(JenkinsResult jenkinsResult, List<String> xmlFiles, Consumer<List<JenkinsTestCase>> batchConsumer,
+                                 List<String> fetchedPaths) {
+        int totalCases = 0;
+        for (String xmlFile : xmlFiles) {
+            // Null when the file could not be downloaded or read; it is skipped
+            Integer fileCases = streamArtifact(jenkinsResult.getJobName(), jenkinsResult.getBuildNumber(), xmlFile,
+                    inputStream -> parseTestNGXML(jenkinsResult, inputStream, xmlFile, batchConsumer));
+            if (fileCases != null) {
+                totalCases += fileCases;
+                fetchedPaths.add(xmlFile);
+                System.out.println("Extracted " + fileCases + " test cases from " + xmlFile);
+            }
         }
-        catch (Exception e) {
-            System.err.println("Error extracting test cases from XML files: " + e.getMessage());
-            e.printStackTrace();
+        return totalCases;
+    }
+
+    /**
+     * One zip download per report directory. When a directory's zip fails, the files it had not parsed yet
+     * are fetched individually. Zipped directories are added to fetchedPaths with a trailing "/", individually
+     * fetched files as they are.
+     */
+    private int parseReportDirectories(JenkinsResult jenkinsResult, List<String> xmlFiles,
+                                       Consumer<List<JenkinsTestCase>> batchConsumer, List<String> fetchedPaths) {
+        Map<String, List<String>> filesByDirectory = new LinkedHashMap<>();
+        for (String xmlFile : xmlFiles) {
+            filesByDirectory.computeIfAbsent(parentDirectory(xmlFile), dir -> new ArrayList<>()).add(xmlFile);
         }
 
-        return testCases;
+        int totalCases = 0;
+        for (Map.Entry<String, List<String>> directory : filesByDirectory.entrySet()) {
+            Set<String> wanted = new HashSet<>(directory.getValue());
+            int[] emitted = new int[1];
+            Set<String> parsedEntries = new HashSet<>();
+            Integer directoryCases = directory.getKey().isEmpty() || directory.getValue().size() < 2
+                    ? null
+                    : parseZipArtifact(jenkinsResult, directory.getKey(), wanted::contains, batchConsumer, emitted, parsedEntries);
+            if (directoryCases != null) {
+                totalCases += directoryCases;
+                fetchedPaths.add(directory.getKey() + "/");
+                continue;
+            }
+
+            // Failed zip: fetch the files it did not get to one by one
+            totalCases += emitted[0];
+            fetchedPaths.addAll(parsedEntries);
+            List<String> remaining = new ArrayList<>();
+            for (String xmlFile : directory.getValue()) {
+                if (!parsedEntries.contains(xmlFile)) {
+                    remaining.add(xmlFile);
+                }
+            }
+            totalCases += parseReportFiles(jenkinsResult, remaining, batchConsumer, fetchedPaths);
+        }
+        return totalCases;
     }
 
+    /**
+     * Download an artifact directory (or, for "", the whole archive) as a single zip and parse the entries
+     * whose artifact path passes the filter, one at a time off the ZipInputStream. emitted[0] and parsedEntries
+     * track the test cases and entries parsed to the end, so callers can resume a partial download; an entry
+     * that breaks off is not in parsedEntries. Returns null when the download failed.
+     */
+    private Integer parseZipArtifact(JenkinsResult jenkinsResult, String directory, Predicate<String> wanted,
+                                     Consumer<List<JenkinsTestCase>> batchConsumer, int[] emitted,
+                                     Set<String> parsedEntries) {
+        // Jenkins roots a directory zip at the directory's own name and the full archive at "archive/"
+        int slash = directory.lastIndexOf('/');
+        String zipPath = directory.isEmpty() ? "*zip*/archive.zip"
+                : directory + "/*zip*/" + directory.substring(slash + 1) + ".zip";
+        String parentPrefix = slash > 0 ? directory.substring(0, slash + 1) : "";
+
+        return streamArtifact(jenkinsResult.getJobName(), jenkinsResult.getBuildNumber(), zipPath, inputStream -> {
+            int entries = 0;
+            try (ZipInputStream zip = new ZipInputStream(inputStream)) {
+                ZipEntry entry;
+                while ((entry = zip.getNextEntry()) != null) {
+                    if (entry.isDirectory()) {
+                        continue;
+                    }
+                    String artifactPath = directory.isEmpty()
+                            ? entry.getName().substring(entry.getName().indexOf('/') + 1)
+                            : parentPrefix + entry.getName();
+                    if (!wanted.test(artifactPath)) {
+                        continue;
+                    }
+                    int entryCases = parseTestNGXML(jenkinsResult, new NonClosingInputStream(zip), artifactPath, batchConsumer);
+                    emitted[0] += entryCases;
+                    parsedEntries.add(artifactPath);
+                    entries++;
+                    System.out.println("Extracted " + entryCases + " test cases from " + artifactPath);
+                }
+            }
+            catch (IOException e) {
+                throw new ReportReadException(zipPath, e);
+            }
+            System.out.println("Parsed " + entries + " report files from " + zipPath);
+            return emitted[0];
+        });
+    }
+
+    /**
+     * TestNG XML, anything under surefire-reports, or XML in a TestNG test-output directory.
+     * Returns null when the artifact tree could not be read.
+     */
     private List<String> findTestNGXMLFiles(String jobName, String buildNumber) {
         List<String> xmlFiles = new ArrayList<>();
 
         try {
-            // Get artifacts list
-            String artifactsUrl = jenkinsUrl + "/job/" + jobName + "/" + buildNumber + "/artifact/*zip*/archive.zip";
-
-            // Try to get artifact tree first
-            String treeUrl = jenkinsUrl + "/job/" + jobName + "/" + buildNumber + "/api/json?tree=artifacts[*]";
+            String treeUrl = jenkinsUrl + "/job/" + jobName + "/" + buildNumber + "/api/json?tree=artifacts[fileName,relativePath]";
 
             HttpHeaders headers = createAuthHeaders();
             HttpEntity<String> entity = new HttpEntity<>(headers);
 
             ResponseEntity<String> response = restTemplate.exchange(treeUrl, HttpMethod.GET, entity, String.class);
-
-            if (response.getStatusCode().is2xxSuccessful()) {
-                JsonNode artifactsJson = objectMapper.readTree(response.getBody());
-                JsonNode artifacts = artifactsJson.get("artifacts");
-
-                if (artifacts != null && artifacts.isArray()) {
-                    for (JsonNode artifact : artifacts) {
-                        String fileName = artifact.get("fileName").asText();
-                        String relativePath = artifact.get("relativePath").asText();
-
-                        // Look for TestNG result files
-                        if (fileName.contains("testng") && fileName.endsWith(".xml")) {
-                            xmlFiles.add(relativePath);
-                            System.out.println("Found TestNG XML file: " + relativePath);
-                        }
-                        // Also look for surefire reports
-                        else if (relativePath.contains("surefire-reports") && fileName.endsWith(".xml")) {
-                            xmlFiles.add(relativePath);
-                            System.out.println("Found Surefire XML file: " + relativePath);
-                        }
-                        // Look for any XML in test-output directory
-                        else if (relativePath.contains("test-output") && fileName.endsWith(".xml")) {
-                            xmlFiles.add(relativePath);
-                            System.out.println("Found test-output XML file: " + relativePath);
-                        }
-                    }
-                }
+            if (!response.getStatusCode().is2xxSuccessful()) {
+                return null;
             }
 
-            // If no artifacts found, try common paths
-            if (xmlFiles.isEmpty()) {
-                String[] commonPaths = {
-                        "target/surefire-reports/testng-results.xml",
-                        "test-output/testng-results.xml",
-                        "testng-results.xml",
-                        "target/surefire-reports/TEST-TestSuite.xml"
-                };
+            JsonNode artifactsJson = objectMapper.readTree(response.getBody());
+            JsonNode artifacts = artifactsJson.get("artifacts");
 
-                for (String path : commonPaths) {
-                    if (artifactExists(jobName, buildNumber, path)) {
-                        xmlFiles.add(path);
-                        System.out.println("Found TestNG XML at common path: " + path);
+            if (artifacts != null && artifacts.isArray()) {
+                for (JsonNode artifact : artifacts) {
+                    String relativePath = artifact.get("relativePath").asText();
+                    if (isTestReportArtifact(relativePath)) {
+                        xmlFiles.add(relativePath);
                     }
                 }
             }
-
+            System.out.println("Found " + xmlFiles.size() + " test report XML files in artifacts");
         }
         catch (Exception e) {
             System.err.println("Error finding TestNG XML files: " + e.getMessage());
+            return null;
         }
 
         return xmlFiles;
     }
 
-    private boolean artifactExists(String jobName, String buildNumber, String path) {
-        try {
-            String url = jenkinsUrl + "/job/" + jobName + "/" + buildNumber + "/artifact/" + path;
-            HttpHeaders headers = createAuthHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
+    private static String parentDirectory(String artifactPath) {
+        int slash = artifactPath.lastIndexOf('/');
+        return slash > 0 ? artifactPath.substring(0, slash) : "";
+    }
 
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.HEAD, entity, String.class);
-            return response.getStatusCode().is2xxSuccessful();
-        }
-        catch (Exception e) {
+    private boolean isTestReportArtifact(String relativePath) {
+        if (!relativePath.endsWith(".xml")) {
             return false;
         }
+        String fileName = relativePath.substring(relativePath.lastIndexOf('/') + 1);
+        return fileName.contains("testng")
+                || relativePath.contains("surefire-reports")
+                || relativePath.contains("test-output");
     }
 
-    private String downloadArtifact(String jobName, String buildNumber, String artifactPath) {
-        try {
-            String url = jenkinsUrl + "/job/" + jobName + "/" + buildNumber + "/artifact/" + artifactPath;
-
-            HttpHeaders headers = createAuthHeaders();
-            HttpEntity<String> entity = new HttpEntity<>(headers);
-
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
+    private <T> T streamArtifact(String jobName, String buildNumber, String artifactPath,
+                                 Function<InputStream, T> bodyHandler) {
+        String url = jenkinsUrl + "/job/" + jobName + "/" + buildNumber + "/artifact/" + artifactPath;
+        HttpHeaders authHeaders = createAuthHeaders();
 
-            if (response.getStatusCode().is2xxSuccessful()) {
-                return response.getBody();
-            }
+        // Download and read errors mean the artifact is unavailable; consumer errors are not caught here
+        try {
+            return restTemplate.execute(url, HttpMethod.GET,
+                    request -> request.getHeaders().addAll(authHeaders),
+                    response -> bodyHandler.apply(response.getBody()));
         }
-        catch (Exception e) {
+        catch (RestClientException | ReportReadException e) {
             System.err.println("Error downloading artifact " + artifactPath + ": " + e.getMessage());
+            return null;
         }
-
-        return null;
     }
 
-    private List<JenkinsTestCase> parseTestNGXML(JenkinsResult jenkinsResult, String xmlContent, String fileName) {
-        List<JenkinsTestCase> testCases = new ArrayList<>();
+    /**
+     * Parse a TestNG or Surefire XML document from a stream without building a DOM.
+     * Test cases are emitted in batches of jenkins.xml.parse-batch-size so memory stays flat for large files.
+     * A document that cannot be read to the end throws ReportReadException when none of its test cases were
+     * handed on yet, so the caller can skip or refetch it, and IllegalStateException once some were.
+     * Consumer exceptions propagate unchanged.
+     */
+    public int parseTestNGXML(JenkinsResult jenkinsResult, InputStream inputStream, String fileName,
+                              Consumer<List<JenkinsTestCase>> batchConsumer) {
+        TestCaseBatch batch = new TestCaseBatch(batchConsumer, parseBatchSize);
+        XMLStreamReader reader = null;
 
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document document = builder.parse(new ByteArrayInputStream(xmlContent.getBytes()));
+            reader = xmlInputFactory.createXMLStreamReader(inputStream);
 
-            // Handle TestNG results XML format
-            if (xmlContent.contains("<testng-results") || xmlContent.contains("<suite")) {
-                testCases.addAll(parseTestNGResultsXML(jenkinsResult, document));
+            // Detect the format from the root element
+            while (reader.hasNext() && reader.next() != XMLStreamConstants.START_ELEMENT) {
+                // skip prolog, comments and whitespace
             }
-            // Handle Surefire XML format
-            else if (xmlContent.contains("<testsuite")) {
-                testCases.addAll(parseSurefireXML(jenkinsResult, document));
+            if (!reader.isStartElement()) {
+                return 0;
             }
 
+            String rootElement = reader.getLocalName();
+            if ("testng-results".equals(rootElement) || "suite".equals(rootElement)) {
+                parseTestNGResultsXML(jenkinsResult, reader, batch);
+            }
+            else if ("testsuite".equals(rootElement) || "testsuites".equals(rootElement)) {
+                parseSurefireXML(jenkinsResult, reader, batch);
+            }
+            else {
+                System.out.println("Unrecognised XML root element <" + rootElement + "> in " + fileName);
+            }
+            batch.flush();
         }
-        catch (Exception e) {
-            System.err.println("Error parsing XML content from " + fileName + ": " + e.getMessage());
+        catch (XMLStreamException e) {
+            if (batch.getHandedOn() > 0) {
+                throw new IllegalStateException("Report " + fileName + " broke off after " + batch.getHandedOn() +
+                        " test cases were saved: " + e.getMessage(), e);
+            }
+            throw new ReportReadException(fileName, e);
+        }
+        finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                }
+                catch (XMLStreamException e) {
+                    // Ignore close errors
+                }
+            }
         }
 
-        return testCases;
+        return batch.getTotal();
     }
 
-    private List<JenkinsTestCase> parseTestNGResultsXML(JenkinsResult jenkinsResult, Document document) {
-        List<JenkinsTestCase> testCases = new ArrayList<>();
-
+    /**
+     * Start time recorded in a TestNG (suite started-at) or Surefire (testsuite timestamp) report, read from the
+     * first suite element; null when the report carries none
+     */
+    public LocalDateTime readReportStartTime(InputStream inputStream, String fileName) {
+        XMLStreamReader reader = null;
         try {
-            // TestNG XML structure: <testng-results> -> <suite> -> <test> -> <class> -> <test-method>
-            NodeList suites = document.getElementsByTagName("suite");
-
-            for (int s = 0; s < suites.getLength(); s++) {
-                Element suite = (Element) suites.item(s);
-
-                NodeList tests = suite.getElementsByTagName("test");
-                for (int t = 0; t < tests.getLength(); t++) {
-                    Element test = (Element) tests.item(t);
-
-                    NodeList classes = test.getElementsByTagName("class");
-                    for (int c = 0; c < classes.getLength(); c++) {
-                        Element clazz = (Element) classes.item(c);
-                        String className = clazz.getAttribute("name");
-
-                        NodeList testMethods = clazz.getElementsByTagName("test-method");
-                        for (int m = 0; m < testMethods.getLength(); m++) {
-                            Element method = (Element) testMethods.item(m);
-
-                            // Skip configuration methods, only get test methods
-                            if ("true".equals(method.getAttribute("is-config"))) {
-                                continue;
-                            }
-
-                            JenkinsTestCase testCase = new JenkinsTestCase();
-                            testCase.setJenkinsResult(jenkinsResult);
-                            testCase.setClassName(className);
-                            testCase.setTestName(method.getAttribute("name"));
-
-                            // Determine status
-                            String status = method.getAttribute("status");
-                            if ("PASS".equals(status)) {
-                                testCase.setStatus("PASSED");
-                            }
-                            else if ("FAIL".equals(status)) {
-                                testCase.setStatus("FAILED");
-                            }
-                            else if ("SKIP".equals(status)) {
-                                testCase.setStatus("SKIPPED");
-                            }
-                            else {
-                                testCase.setStatus("UNKNOWN");
-                            }
-
-                            // Get duration if available
-                            String durationMs = method.getAttribute("duration-ms");
-                            if (durationMs != null && !durationMs.isEmpty()) {
-                                try {
-                                    double duration = Double.parseDouble(durationMs) / 1000.0; // Convert to seconds
-                                    testCase.setDuration(duration);
-                                }
-                                catch (NumberFormatException e) {
-                                    // Ignore duration parsing errors
-                                }
-                            }
-
-                            // Get exception information if failed
-                            if ("FAILED".equals(testCase.getStatus())) {
-                                NodeList exceptions = method.getElementsByTagName("exception");
-                                if (exceptions.getLength() > 0) {
-                                    Element exception = (Element) exceptions.item(0);
-
-                                    String message = exception.getAttribute("message");
-                                    if (message != null && !message.isEmpty()) {
-                                        testCase.setErrorMessage(message.length() > 2000 ?
-                                                message.substring(0, 2000) + "..." : message);
-                                    }
-
-                                    NodeList fullStackTrace = exception.getElementsByTagName("full-stacktrace");
-                                    if (fullStackTrace.getLength() > 0) {
-                                        String stackTrace = fullStackTrace.item(0).getTextContent();
-                                        testCase.setStackTrace(stackTrace.length() > 5000 ?
-                                                stackTrace.substring(0, 5000) + "..." : stackTrace);
-                                    }
-                                }
-                            }
-
-                            testCases.add(testCase);
-                            System.out.println("Parsed TestNG test case: " + className + "." + testCase.getTestName() + " - " + testCase.getStatus());
-                        }
-                    }
+            reader = xmlInputFactory.createXMLStreamReader(inputStream);
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                switch (reader.getLocalName()) {
+                    case "suite":
+                        return parseReportTimestamp(reader.getAttributeValue(null, "started-at"));
+                    case "testsuite":
+                        return parseReportTimestamp(reader.getAttributeValue(null, "timestamp"));
+                    case "test-method":
+                    case "testcase":
+                        return null;
+                    default:
+                        break;
                 }
             }
-
         }
-        catch (Exception e) {
-            System.err.println("Error parsing TestNG results XML: " + e.getMessage());
+        catch (XMLStreamException e) {
+            System.err.println("Error reading start time from " + fileName + ": " + e.getMessage());
         }
-
-        return testCases;
+        finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                }
+                catch (XMLStreamException e) {
+                    // Ignore close errors
+                }
+            }
+        }
+        return null;
     }
 
-    private List<JenkinsTestCase> parseSurefireXML(JenkinsResult jenkinsResult, Document document) {
-        List<JenkinsTestCase> testCases = new ArrayList<>();
-
+    // The ISO local date-time prefix; TestNG appends a zone ("2024-01-15T10:30:00 UTC"), Surefire writes none
+    private static LocalDateTime parseReportTimestamp(String value) {
+        if (value == null || value.length() < 19) {
+            return null;
+        }
         try {
-            // Surefire XML structure: <testsuite> -> <testcase>
-            NodeList testSuites = document.getElementsByTagName("testsuite");
-
-            for (int s = 0; s < testSuites.getLength(); s++) {
-                Element testSuite = (Element) testSuites.item(s);
-
-                NodeList testCaseNodes = testSuite.getElementsByTagName("testcase");
-                for (int t = 0; t < testCaseNodes.getLength(); t++) {
-                    Element testCaseNode = (Element) testCaseNodes.item(t);
+            return LocalDateTime.parse(value.substring(0, 19));
+        }
+        catch (DateTimeParseException e) {
+            return null;
+        }
+    }
 
-                    JenkinsTestCase testCase = new JenkinsTestCase();
-                    testCase.setJenkinsResult(jenkinsResult);
-                    testCase.setClassName(testCaseNode.getAttribute("classname"));
-                    testCase.setTestName(testCaseNode.getAttribute("name"));
-
-                    // Get duration
-                    String time = testCaseNode.getAttribute("time");
-                    if (time != null && !time.isEmpty()) {
-                        try {
-                            testCase.setDuration(Double.parseDouble(time));
+    private void parseTestNGResultsXML(JenkinsResult jenkinsResult, XMLStreamReader reader, TestCaseBatch batch)
+            throws XMLStreamException {
+        // TestNG XML structure: <testng-results> -> <suite> -> <test> -> <class> -> <test-method>
+        String className = null;
+        JenkinsTestCase testCase = null;
+        boolean inException = false;
+        BoundedText text = null;
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                switch (reader.getLocalName()) {
+                    case "class":
+                        className = reader.getAttributeValue(null, "name");
+                        break;
+                    case "test-method":
+                        // Skip configuration methods, only get test methods
+                        if ("true".equals(reader.getAttributeValue(null, "is-config"))) {
+                            testCase = null;
+                            break;
                         }
-                        catch (NumberFormatException e) {
-                            // Ignore duration parsing errors
+                        testCase = new JenkinsTestCase();
+                        testCase.setJenkinsResult(jenkinsResult);
+                        testCase.setClassName(className);
+                        testCase.setTestName(reader.getAttributeValue(null, "name"));
+                        testCase.setStatus(mapTestNGStatus(reader.getAttributeValue(null, "status")));
+                        testCase.setDuration(parseDuration(reader.getAttributeValue(null, "duration-ms"), 1000.0));
+                        break;
+                    case "exception":
+                        // Get exception information if failed
+                        if (testCase != null && "FAILED".equals(testCase.getStatus())) {
+                            inException = true;
+                            String message = reader.getAttributeValue(null, "message");
+                            if (message != null && !message.isEmpty()) {
+                                testCase.setErrorMessage(truncate(message, MAX_ERROR_MESSAGE_LENGTH));
+                            }
                         }
-                    }
+                        break;
+                    case "message":
+                        if (inException && testCase.getErrorMessage() == null) {
+                            text = new BoundedText(MAX_ERROR_MESSAGE_LENGTH);
+                        }
+                        break;
+                    case "full-stacktrace":
+                        if (inException) {
+                            text = new BoundedText(MAX_STACK_TRACE_LENGTH);
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+            else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                if (text != null) {
+                    text.append(reader.getText());
+                }
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT) {
+                switch (reader.getLocalName()) {
+                    case "message":
+                        if (text != null) {
+                            String message = text.toString().trim();
+                            testCase.setErrorMessage(message.isEmpty() ? null : message);
+                            text = null;
+                        }
+                        break;
+                    case "full-stacktrace":
+                        if (text != null) {
+                            testCase.setStackTrace(text.toString());
+                            text = null;
+                        }
+                        break;
+                    case "exception":
+                        inException = false;
+                        break;
+                    case "test-method":
+                        if (testCase != null) {
+                            batch.add(testCase);
+                            testCase = null;
+                        }
+                        break;
+                    case "class":
+                        className = null;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+    }
 
+    private void parseSurefireXML(JenkinsResult jenkinsResult, XMLStreamReader reader, TestCaseBatch batch)
+            throws XMLStreamException {
+        // Surefire XML structure: <testsuite> -> <testcase>
+        JenkinsTestCase testCase = null;
+        BoundedText text = null;
+
+        // The root element itself may be a <testsuite>, so start from the current event
+        int event = reader.getEventType();
+        while (true) {
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String element = reader.getLocalName();
+                if ("testcase".equals(element)) {
+                    testCase = new JenkinsTestCase();
+                    testCase.setJenkinsResult(jenkinsResult);
+                    testCase.setClassName(reader.getAttributeValue(null, "classname"));
+                    testCase.setTestName(reader.getAttributeValue(null, "name"));
+                    testCase.setDuration(parseDuration(reader.getAttributeValue(null, "time"), 1.0));
+                    testCase.setStatus("PASSED");
+                }
+                else if (testCase != null && ("failure".equals(element) || "error".equals(element))) {
                     // Determine status based on child elements
-                    NodeList failures = testCaseNode.getElementsByTagName("failure");
-                    NodeList errors = testCaseNode.getElementsByTagName("error");
-                    NodeList skipped = testCaseNode.getElementsByTagName("skipped");
-
-                    if (failures.getLength() > 0) {
+                    if (!"FAILED".equals(testCase.getStatus())) {
                         testCase.setStatus("FAILED");
-                        Element failure = (Element) failures.item(0);
-                        testCase.setErrorMessage(failure.getAttribute("message"));
-                        testCase.setStackTrace(failure.getTextContent());
+                        String message = reader.getAttributeValue(null, "message");
+                        testCase.setErrorMessage(message != null ? truncate(message, MAX_ERROR_MESSAGE_LENGTH) : null);
+                        text = new BoundedText(MAX_STACK_TRACE_LENGTH);
                     }
-                    else if (errors.getLength() > 0) {
-                        testCase.setStatus("FAILED");
-                        Element error = (Element) errors.item(0);
-                        testCase.setErrorMessage(error.getAttribute("message"));
-                        testCase.setStackTrace(error.getTextContent());
-                    }
-                    else if (skipped.getLength() > 0) {
+                }
+                else if (testCase != null && "skipped".equals(element)) {
+                    if ("PASSED".equals(testCase.getStatus())) {
                         testCase.setStatus("SKIPPED");
                     }
-                    else {
-                        testCase.setStatus("PASSED");
-                    }
-
-                    testCases.add(testCase);
-                    System.out.println("Parsed Surefire test case: " + testCase.getClassName() + "." + testCase.getTestName() + " - " + testCase.getStatus());
+                }
+            }
+            else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA) {
+                if (text != null) {
+                    text.append(reader.getText());
+                }
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT) {
+                String element = reader.getLocalName();
+                if (text != null && ("failure".equals(element) || "error".equals(element))) {
+                    testCase.setStackTrace(text.toString());
+                    text = null;
+                }
+                else if ("testcase".equals(element) && testCase != null) {
+                    batch.add(testCase);
+                    testCase = null;
                 }
             }
 
+            if (!reader.hasNext()) {
+                break;
+            }
+            event = reader.next();
         }
-        catch (Exception e) {
-            System.err.println("Error parsing Surefire XML: " + e.getMessage());
+    }
+
+    private String mapTestNGStatus(String status) {
+        if ("PASS".equals(status)) {
+            return "PASSED";
         }
+        else if ("FAIL".equals(status)) {
+            return "FAILED";
+        }
+        else if ("SKIP".equals(status)) {
+            return "SKIPPED";
+        }
+        return "UNKNOWN";
+    }
 
-        return testCases;
+    private Double parseDuration(String value, double divisor) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(value) / divisor;
+        }
+        catch (NumberFormatException e) {
+            // Ignore duration parsing errors
+            return null;
+        }
+    }
+
+    private String truncate(String value, int maxLength) {
+        return value.length() > maxLength ? value.substring(0, maxLength) + "..." : value;
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
     }
 
     private HttpHeaders createAuthHeaders() {
@@ -376,4 +663,98 @@ public class TestNGXMLParserService {
         }
         return headers;
     }
-}
\ No newline at end of file
+
+    /**
+     * A report or artifact stream that could not be read to the end
+     */
+    public static class ReportReadException extends RuntimeException {
+
+        ReportReadException(String artifactPath, Exception cause) {
+            super("Failed to read " + artifactPath + ": " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Lets the XML parser read one zip entry without closing the ZipInputStream underneath it
+     */
+    private static class NonClosingInputStream extends FilterInputStream {
+
+        NonClosingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() {
+            // The caller moves on to the next entry
+        }
+    }
+
+    /**
+     * Collects parsed test cases and hands them off once the batch size is reached
+     */
+    private static class TestCaseBatch {
+        private final Consumer<List<JenkinsTestCase>> consumer;
+        private final int batchSize;
+        private List<JenkinsTestCase> current = new ArrayList<>();
+        private int total;
+        private int handedOn;
+
+        TestCaseBatch(Consumer<List<JenkinsTestCase>> consumer, int batchSize) {
+            this.consumer = consumer;
+            this.batchSize = Math.max(1, batchSize);
+        }
+
+        void add(JenkinsTestCase testCase) {
+            current.add(testCase);
+            total++;
+            if (current.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!current.isEmpty()) {
+                handedOn += current.size();
+                consumer.accept(current);
+                current = new ArrayList<>();
+            }
+        }
+
+        int getTotal() {
+            return total;
+        }
+
+        int getHandedOn() {
+            return handedOn;
+        }
+    }
+
+    /**
+     * Text accumulator that stops growing past its limit, so huge stack traces don't inflate the heap
+     */
+    private static class BoundedText {
+        private final StringBuilder builder = new StringBuilder();
+        private final int limit;
+        private boolean truncated;
+
+        BoundedText(int limit) {
+            this.limit = limit;
+        }
+
+        void append(String value) {
+            int remaining = limit - builder.length();
+            if (value.length() > remaining) {
+                builder.append(value, 0, Math.max(0, remaining));
+                truncated = true;
+            }
+            else {
+                builder.append(value);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return truncated ? builder + "..." : builder.toString();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.qa.automation.service;
+
+import com.qa.automation.model.Tester;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Tester avatar files: uploads/{id}.png plus a server-side thumbnail uploads/{id}_thumb.png.
+ * Avatar versions (file modification times) are remembered per tester so building list responses
+ * does not touch the disk; they are refreshed on every upload and delete made through this service.
+ */
+@Service
+public class TesterAvatarService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TesterAvatarService.class);
+
+    private static final Pattern SAFE_FILE_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9_.-]*");
+    private static final long NO_AVATAR = -1L;
+
+    @Value("${tester.avatar.dir:uploads}")
+    private String avatarDir;
+
+    @Value("${tester.avatar.thumbnail-size:128}")
+    private int thumbnailSize;
+
+    // Pixel limit checked against the image header before anything is decoded
+    @Value("${tester.avatar.max-pixels:16777216}")
+    private long maxPixels;
+
+    private final Map<Long, Long> versionByTester = new ConcurrentHashMap<>();
+
+    /**
+     * Reject an upload whose header declares more than tester.avatar.max-pixels, before it is stored or decoded
+     */
+    public void validate(MultipartFile imageFile) throws IOException {
+        try (InputStream in = imageFile.getInputStream();
+             ImageInputStream imageIn = ImageIO.createImageInputStream(in)) {
+            ImageReader reader = openReader(imageIn);
+            if (reader == null) {
+                // Not a format ImageIO can decode; it is stored and served as is
+                return;
+            }
+            try {
+                checkDimensions(reader);
+            }
+            finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Store the uploaded image as the tester's avatar and generate its thumbnail
+     */
+    public void store(Long testerId, MultipartFile imageFile) throws IOException {
+        validate(imageFile);
+        Path directory = directory();
+        Files.createDirectories(directory);
+
+        Path original = avatarPath(testerId);
+        Path temp = Files.createTempFile(directory, testerId + "-", ".upload");
+        try {
+            try (InputStream in = imageFile.getInputStream()) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(temp, original, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        finally {
+            Files.deleteIfExists(temp);
+        }
+
+        writeThumbnail(original, thumbnailPath(testerId));
+        versionByTester.remove(testerId);
+    }
+
+    public void delete(Long testerId) {
+        try {
+            Files.deleteIfExists(avatarPath(testerId));
+            Files.deleteIfExists(thumbnailPath(testerId));
+        }
+        catch (IOException e) {
+            logger.warn("Failed to delete avatar for tester {}: {}", testerId, e.getMessage());
+        }
+        versionByTester.remove(testerId);
+    }
+
+    /**
+     * Avatar file to serve; a missing thumbnail falls back to the original image
+     */
+    public Optional<Path> resolve(Long testerId, boolean thumbnail) {
+        if (thumbnail && Files.isRegularFile(thumbnailPath(testerId))) {
+            return Optional.of(thumbnailPath(testerId));
+        }
+        Path original = avatarPath(testerId);
+        return Files.isRegularFile(original) ? Optional.of(original) : Optional.empty();
+    }
+
+    /**
+     * A file directly under the avatar directory by name, rejecting anything that could escape it
+     */
+    public Optional<Path> resolveUpload(String fileName) {
+        if (fileName == null || !SAFE_FILE_NAME.matcher(fileName).matches()) {
+            return Optional.empty();
+        }
+        Path directory = directory();
+        Path file = directory.resolve(fileName).normalize();
+        if (!directory.equals(file.getParent()) || !Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(file);
+    }
+
+    /**
+     * Set the avatar URLs on a tester for a response; both stay null when the tester has no avatar.
+     * The version parameter changes with every upload, so clients can cache each URL for long.
+     */
+    public Tester withAvatarUrls(Tester tester) {
+        if (tester == null || tester.getId() == null) {
+            return tester;
+        }
+        long version = versionByTester.computeIfAbsent(tester.getId(), this::readVersion);
+        if (version == NO_AVATAR) {
+            tester.setAvatarUrls(null, null);
+        }
+        else {
+            String base = "/api/testers/" + tester.getId() + "/avatar?v=" + version;
+            tester.setAvatarUrls(base, base + "&thumbnail=true");
+        }
+        return tester;
+    }
+
+    private long readVersion(Long testerId) {
+        try {
+            Path original = avatarPath(testerId);
+            return Files.isRegularFile(original) ? Files.getLastModifiedTime(original).toMillis() : NO_AVATAR;
+        }
+        catch (IOException e) {
+            return NO_AVATAR;
+        }
+    }
+
+    private void writeThumbnail(Path original, Path thumbnail) {
+        try {
+            BufferedImage source;
+            try (ImageInputStream imageIn = ImageIO.createImageInputStream(original.toFile())) {
+                ImageReader reader = openReader(imageIn);
+                if (reader == null) {
+                    // Not a format ImageIO can decode; the original is served instead
+                    Files.deleteIfExists(thumbnail);
+                    return;
+                }
+                try {
+                    checkDimensions(reader);
+                    source = reader.read(0);
+                }
+                finally {
+                    reader.dispose();
+                }
+            }
+
+            double scale = Math.min(1.0, (double) thumbnailSize / Math.max(source.getWidth(), source.getHeight()));
+            int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+            int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+            BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D graphics = scaled.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(source, 0, 0, width, height, null);
+            }
+            finally {
+                graphics.dispose();
+            }
+            ImageIO.write(scaled, "png", thumbnail.toFile());
+        }
+        catch (IOException | RuntimeException e) {
+            logger.warn("Failed to generate avatar thumbnail {}: {}", thumbnail, e.getMessage());
+            // Never leave the previous image's thumbnail in place for the new one
+            try {
+                Files.deleteIfExists(thumbnail);
+            }
+            catch (IOException deleteFailure) {
+                logger.warn("Failed to delete stale avatar thumbnail {}: {}", thumbnail, deleteFailure.getMessage());
+            }
+        }
+    }
+
+    // Reader positioned on the image's header, or null when no ImageIO reader recognises it
+    private static ImageReader openReader(ImageInputStream imageIn) {
+        if (imageIn == null) {
+            return null;
+        }
+        Iterator<ImageReader> readers = ImageIO.getImageReaders(imageIn);
+        if (!readers.hasNext()) {
+            return null;
+        }
+        ImageReader reader = readers.next();
+        reader.setInput(imageIn, true, true);
+        return reader;
+    }
+
+    private void checkDimensions(ImageReader reader) throws IOException {
+        int width = reader.getWidth(0);
+        int height = reader.getHeight(0);
+        if ((long) width * height > maxPixels) {
+            throw new IllegalArgumentException("Avatar image is too large: " + width + "x" + height +
+                    " exceeds " + maxPixels + " pixels");
+        }
+    }
+
+    private Path directory() {
+        return Paths.get(avatarDir).toAbsolutePath().normalize();
+    }
+
+    private Path avatarPath(Long testerId) {
+        return directory().resolve(testerId + ".png");
+    }
+
+    private Path thumbnailPath(Long testerId) {
+        return directory().resolve(testerId + "_thumb.png");
+    }
+}
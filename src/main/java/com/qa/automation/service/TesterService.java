@@ -1,16 +1,17 @@
 package com.qa.automation.service;
 
+import com.qa.automation.config.CacheConfig;
+import com.qa.automation.dto.KeysetPage;
 import com.qa.automation.model.Tester;
 import com.qa.automation.repository.TesterRepository;
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.util.Base64;
+import java.io.OutputStream;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -20,59 +21,85 @@ public class TesterService {
     @Autowired
     private TesterRepository testerRepository;
 
+    @Autowired
+    private NdjsonExportService ndjsonExportService;
+
+    @Autowired
+    private TesterAvatarService avatarService;
+
+    @Value("${api.page.max-size:500}")
+    private int maxPageSize;
+
     public List<Tester> getAllTesters() {
         List<Tester> testers = testerRepository.findAll();
 
-        testers.forEach(tester -> {
-            Path imagePath = Paths.get("uploads", tester.getId() + ".png");
-            try {
-                byte[] imageBytes = Files.readAllBytes(imagePath);
-                String base64Image = Base64.getEncoder().encodeToString(imageBytes);
-                tester.setProfileImageUrl(base64Image);  // base64 string instead of URL
-            }
-            catch (IOException e) {
-                // If file not found or error, you can either set null or some default
-                tester.setProfileImageUrl(null);
-                // optionally log error here
-            }
-        });
+        testers.forEach(avatarService::withAvatarUrls);
 
         return testers;
     }
 
+    /**
+     * Keyset page of testers ordered by id, starting after the given id (null for the first page)
+     */
+    public KeysetPage<Tester> getTestersPage(Long afterId, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        List<Tester> rows = testerRepository.findPageAfterId(afterId != null ? afterId : 0L, PageRequest.of(0, pageSize + 1));
+        KeysetPage<Tester> page = KeysetPage.fromLookahead(rows, pageSize, Tester::getId);
+        page.getItems().forEach(avatarService::withAvatarUrls);
+        return page;
+    }
+
+    /**
+     * Write every tester as NDJSON straight from a database stream
+     */
+    public long exportTesters(OutputStream out) throws IOException {
+        return ndjsonExportService.write(testerRepository::streamAll, avatarService::withAvatarUrls, out);
+    }
 
+    @CacheEvict(cacheNames = CacheConfig.TESTERS_CACHE, allEntries = true)
     public Tester createTester(Tester tester) {
         return testerRepository.save(tester);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TESTERS_CACHE, allEntries = true)
     public Tester createTester(Tester tester, MultipartFile imageFile) {
         if (tester.getExperience() == null) {
             tester.setExperience(0);
         }
+        if (!imageFile.isEmpty()) {
+            try {
+                // Reject oversized images before the tester is created
+                avatarService.validate(imageFile);
+            }
+            catch (IOException e) {
+                throw new RuntimeException("Failed to read image", e);
+            }
+        }
         Tester savedTester = testerRepository.save(tester);
         if (!imageFile.isEmpty()) {
-            // Prepare file path
-            String uploadDir = "uploads/";
-            String fileName = savedTester.getId() + ".png";
-            File file = new File(uploadDir + fileName);
-            file.getParentFile().mkdirs(); // ensure directory exists
-            try (FileOutputStream fos = new FileOutputStream(file)) {
-                fos.write(imageFile.getBytes());
+            try {
+                // Writes uploads/{id}.png and its thumbnail
+                avatarService.store(savedTester.getId(), imageFile);
             }
             catch (IOException e) {
                 throw new RuntimeException("Failed to save image", e);
             }
             // Save image path to DB
-            savedTester.setProfileImageUrl(uploadDir + fileName);
+            savedTester.setProfileImageUrl("uploads/" + savedTester.getId() + ".png");
         }
-        return testerRepository.save(savedTester);
+        return avatarService.withAvatarUrls(testerRepository.save(savedTester));
     }
 
 
+    /**
+     * Cached lookup used on request and sync paths; evicted by every tester write
+     */
+    @Cacheable(cacheNames = CacheConfig.TESTERS_CACHE, key = "#id", unless = "#result == null")
     public Tester getTesterById(Long id) {
         return testerRepository.findById(id).orElse(null);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TESTERS_CACHE, allEntries = true)
     public Tester updateTester(Long id, Tester tester) {
         if (testerRepository.existsById(id)) {
             tester.setId(id);
@@ -85,28 +112,38 @@ public class TesterService {
         return null;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.TESTERS_CACHE, allEntries = true)
     public boolean deleteTester(Long id) {
         if (testerRepository.existsById(id)) {
             testerRepository.deleteById(id);
+            avatarService.delete(id);
             return true;
         }
         return false;
     }
 
     public List<Tester> getTestersByRole(String role) {
-        return testerRepository.findByRole(role);
+        List<Tester> testers = testerRepository.findByRole(role);
+        testers.forEach(avatarService::withAvatarUrls);
+        return testers;
     }
 
     public List<Tester> getTestersByGender(String gender) {
-        return testerRepository.findByGender(gender);
+        List<Tester> testers = testerRepository.findByGender(gender);
+        testers.forEach(avatarService::withAvatarUrls);
+        return testers;
     }
 
     public List<Tester> searchTestersByName(String name) {
-        return testerRepository.findByNameContaining(name);
+        List<Tester> testers = testerRepository.findByNameContaining(name);
+        testers.forEach(avatarService::withAvatarUrls);
+        return testers;
     }
 
     public List<Tester> getTestersByExperience(Integer minExperience) {
-        return testerRepository.findByExperienceGreaterThanEqual(minExperience);
+        List<Tester> testers = testerRepository.findByExperienceGreaterThanEqual(minExperience);
+        testers.forEach(avatarService::withAvatarUrls);
+        return testers;
     }
 
     public long getTestersCountByRole(String role) {
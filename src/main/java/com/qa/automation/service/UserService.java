@@ -1,5 +1,6 @@
 package com.qa.automation.service;
 
+import com.qa.automation.config.JwtFilter;
 import com.qa.automation.dto.UserDto;
 import com.qa.automation.model.User;
 import com.qa.automation.model.UserPermission;
@@ -17,6 +18,8 @@ public class UserService {
     private PermissionRepository permissionRepository;
     @Autowired
     private JWTService jwtService;
+    @Autowired
+    private JwtFilter jwtFilter;
 
     public UserDto getUserDetails(String userName, String password) {
         User user = userRepository.getUserByUserNameAndPassword(userName, password);
@@ -36,12 +39,20 @@ public class UserService {
         }
         UserPermission permission = permissionRepository.findById(permissionId).get();
         User updatedUser = new User(user.getUserName(), user.getPassword(), user.getRole(), permission);
-        return userRepository.save(updatedUser);
+        User savedUser = userRepository.save(updatedUser);
+        jwtFilter.evictUser(savedUser.getUserName());
+        return savedUser;
     }
 
 
     public User updateUser(User user) {
-        return userRepository.save(user);
+        // Cached principals carry the roles, so drop them under the old and the new name
+        String previousUserName = user.getUserId() != null
+                ? userRepository.findById(user.getUserId()).map(User::getUserName).orElse(null) : null;
+        User savedUser = userRepository.save(user);
+        jwtFilter.evictUser(previousUserName);
+        jwtFilter.evictUser(savedUser.getUserName());
+        return savedUser;
     }
 
     public String verify(User user) {